@@ -0,0 +1,41 @@
+package com.test.test.controller;
+
+import com.test.test.dto.TaskCacheStatsDTO;
+import com.test.test.service.RootTaskIndex;
+import com.test.test.service.TaskResponseCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Admin REST Controller for the task response cache
+ */
+@RestController
+@RequestMapping("/api/admin/cache/tasks")
+@RequiredArgsConstructor
+@Slf4j
+public class TaskCacheController {
+
+    private final TaskResponseCache taskResponseCache;
+    private final RootTaskIndex rootTaskIndex;
+
+    /**
+     * Get hit, miss and eviction counts of the task cache
+     */
+    @GetMapping
+    public ResponseEntity<TaskCacheStatsDTO> getStats() {
+        return ResponseEntity.ok(taskResponseCache.stats());
+    }
+
+    /**
+     * Drop every cached task and the root task index, e.g. after changing tasks in the database directly
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> clear() {
+        log.info("Received request to clear the task cache");
+        taskResponseCache.clear();
+        rootTaskIndex.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
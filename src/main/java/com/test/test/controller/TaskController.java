@@ -1,7 +1,18 @@
 package com.test.test.controller;
 
+import com.test.test.dto.TaskBulkRequestDTO;
+import com.test.test.dto.TaskBulkResponseDTO;
+import com.test.test.dto.TaskBulkUpdateDTO;
+import com.test.test.dto.TaskBulkUpdateResultDTO;
+import com.test.test.dto.TaskPatchDTO;
 import com.test.test.dto.TaskRequestDTO;
 import com.test.test.dto.TaskResponseDTO;
+import com.test.test.dto.TaskSliceDTO;
+import com.test.test.dto.TaskTreeDTO;
+import com.test.test.dto.TaskWriteStatusDTO;
+import com.test.test.exeception.PreconditionFailedException;
+import com.test.test.service.TaskAsyncWriter;
+import com.test.test.service.TaskCreateBatcher;
 import com.test.test.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -10,10 +21,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.util.List;
 
 /**
@@ -27,25 +43,78 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskCreateBatcher taskCreateBatcher;
+    private final TaskAsyncWriter taskAsyncWriter;
 
     /**
-     * Create a new task
+     * Create a new task; committed together with concurrent creates when group commit is enabled
      */
     @PostMapping
     public ResponseEntity<TaskResponseDTO> createTask(@Valid @RequestBody TaskRequestDTO taskRequest) {
         log.info("Received request to create task: {}", taskRequest.getTitle());
-        TaskResponseDTO createdTask = taskService.createTask(taskRequest);
-        return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
+        TaskResponseDTO createdTask = taskCreateBatcher.create(taskRequest);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(eTagOf(createdTask.getVersion()))
+                .body(createdTask);
     }
 
     /**
-     * Get task by code
+     * Accept a task to be created in the background: answers at once with its code and
+     * the URL to follow the write at, or 429 when too many writes are already waiting
+     */
+    @PostMapping(params = "async=true")
+    public ResponseEntity<TaskWriteStatusDTO> acceptTask(@Valid @RequestBody TaskRequestDTO taskRequest) {
+        log.info("Received request to create task asynchronously: {}", taskRequest.getTitle());
+        TaskWriteStatusDTO accepted = withLinks(taskAsyncWriter.accept(taskRequest));
+        return ResponseEntity.accepted()
+                .location(URI.create(accepted.getStatusUrl()))
+                .body(accepted);
+    }
+
+    /**
+     * Get the state of a task write accepted with async=true
+     */
+    @GetMapping("/writes/{code}")
+    public ResponseEntity<TaskWriteStatusDTO> getWriteStatus(@PathVariable String code) {
+        log.info("Received request to get write status of task with code: {}", code);
+        return ResponseEntity.ok(withLinks(taskAsyncWriter.getStatus(code)));
+    }
+
+    private static TaskWriteStatusDTO withLinks(TaskWriteStatusDTO status) {
+        status.setStatusUrl("/api/tasks/writes/" + status.getCode());
+        if (status.getState() == TaskWriteStatusDTO.State.CREATED) {
+            status.setTaskUrl("/api/tasks/" + status.getCode());
+        }
+        return status;
+    }
+
+    /**
+     * Create many tasks at once; tasks may reference parents in the same request by ref
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<TaskBulkResponseDTO> createTasks(@Valid @RequestBody TaskBulkRequestDTO bulkRequest) {
+        log.info("Received request to bulk create {} task(s)", bulkRequest.getTasks().size());
+        TaskBulkResponseDTO result = taskService.createTasks(bulkRequest);
+        return new ResponseEntity<>(result, HttpStatus.CREATED);
+    }
+
+    /**
+     * Get task by code; with If-None-Match naming its current version, 304 Not Modified
+     * is answered from the version alone
      */
     @GetMapping("/{code}")
-    public ResponseEntity<TaskResponseDTO> getTask(@PathVariable String code) {
+    public ResponseEntity<TaskResponseDTO> getTask(
+            @PathVariable String code,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            WebRequest request) {
         log.info("Received request to get task with code: {}", code);
+        if (ifNoneMatch != null && request.checkNotModified(eTagOf(taskService.getTaskVersion(code)))) {
+            return null;
+        }
         TaskResponseDTO task = taskService.getTaskByCode(code);
-        return ResponseEntity.ok(task);
+        return ResponseEntity.ok()
+                .eTag(eTagOf(task.getVersion()))
+                .body(task);
     }
 
     /**
@@ -71,25 +140,112 @@ public class TaskController {
     }
 
     /**
-     * Update task by code
+     * Get tasks with keyset pagination: pass an empty cursor for the first slice,
+     * then the nextCursor of each response. Sorting by createAt or updatedAt only.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<TaskSliceDTO> getTasksAfter(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir) {
+
+        log.info("Received request to get tasks after cursor - size: {}", size);
+        TaskSliceDTO tasks = taskService.getTasksAfter(cursor, size, sortBy, sortDir);
+        return ResponseEntity.ok(tasks);
+    }
+
+    /**
+     * Export all tasks as newline-delimited JSON, streamed straight from the database
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        log.info("Received request to export all tasks");
+        StreamingResponseBody body = taskService::exportTasks;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    /**
+     * Update task by code; with If-Match, only if the task is still at the version it names,
+     * or 412 Precondition Failed
      */
     @PutMapping("/{code}")
     public ResponseEntity<TaskResponseDTO> updateTask(
             @PathVariable String code,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody TaskRequestDTO taskRequest) {
 
         log.info("Received request to update task with code: {}", code);
-        TaskResponseDTO updatedTask = taskService.updateTask(code, taskRequest);
-        return ResponseEntity.ok(updatedTask);
+        TaskResponseDTO updatedTask = taskService.updateTask(code, taskRequest, expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(eTagOf(updatedTask.getVersion()))
+                .body(updatedTask);
     }
 
     /**
-     * Delete task by code
+     * Change some fields of a task: fields left out are kept, fields sent as null cleared.
+     * Takes If-Match like PUT
+     */
+    @PatchMapping("/{code}")
+    public ResponseEntity<TaskResponseDTO> patchTask(
+            @PathVariable String code,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody TaskPatchDTO taskPatch) {
+
+        log.info("Received request to patch task with code: {}", code);
+        TaskResponseDTO patchedTask = taskService.patchTask(code, taskPatch, expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(eTagOf(patchedTask.getVersion()))
+                .body(patchedTask);
+    }
+
+    private static String eTagOf(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Version named by an If-Match header of a single strong ETag, or null for none or "*"
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (eTag.length() > 2 && eTag.startsWith("\"") && eTag.endsWith("\"")) {
+            try {
+                return Long.valueOf(eTag.substring(1, eTag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Not an ETag of ours, so not a current version either
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not name a version of the task: " + ifMatch);
+    }
+
+    /**
+     * Change status, assignee and/or priority of many tasks, selected by codes or by parent
+     */
+    @PatchMapping("/bulk")
+    public ResponseEntity<TaskBulkUpdateResultDTO> updateTasks(@Valid @RequestBody TaskBulkUpdateDTO bulkUpdate) {
+        log.info("Received request to bulk update tasks");
+        TaskBulkUpdateResultDTO result = taskService.updateTasks(bulkUpdate);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Delete task by code; with cascade=true its whole subtree is deleted too
      */
     @DeleteMapping("/{code}")
-    public ResponseEntity<Void> deleteTask(@PathVariable String code) {
-        log.info("Received request to delete task with code: {}", code);
-        taskService.deleteTask(code);
+    public ResponseEntity<Void> deleteTask(
+            @PathVariable String code,
+            @RequestParam(defaultValue = "false") boolean cascade) {
+        log.info("Received request to delete task with code: {}, cascade: {}", code, cascade);
+        if (cascade) {
+            taskService.deleteSubtree(code);
+        } else {
+            taskService.deleteTask(code);
+        }
         return ResponseEntity.noContent().build();
     }
 
@@ -103,6 +259,19 @@ public class TaskController {
         return ResponseEntity.ok(children);
     }
 
+    /**
+     * Get a task with all of its descendants as a nested tree, optionally limited in depth
+     */
+    @GetMapping("/{code}/subtree")
+    public ResponseEntity<TaskTreeDTO> getSubtree(
+            @PathVariable String code,
+            @RequestParam(required = false) Integer maxDepth) {
+
+        log.info("Received request to get subtree of task with code: {}", code);
+        TaskTreeDTO subtree = taskService.getSubtree(code, maxDepth);
+        return ResponseEntity.ok(subtree);
+    }
+
     /**
      * Get all root tasks (tasks without parent)
      */
@@ -112,4 +281,16 @@ public class TaskController {
         List<TaskResponseDTO> rootTasks = taskService.getRootTasks();
         return ResponseEntity.ok(rootTasks);
     }
+
+    /**
+     * Get root tasks with pagination, in creation order
+     */
+    @GetMapping(value = "/root", params = "page")
+    public ResponseEntity<Page<TaskResponseDTO>> getRootTasks(
+            @RequestParam int page,
+            @RequestParam(defaultValue = "10") int size) {
+        log.info("Received request to get root tasks - page: {}, size: {}", page, size);
+        Page<TaskResponseDTO> rootTasks = taskService.getRootTasks(PageRequest.of(page, size));
+        return ResponseEntity.ok(rootTasks);
+    }
 }
\ No newline at end of file
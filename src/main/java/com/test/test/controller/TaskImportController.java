@@ -0,0 +1,75 @@
+package com.test.test.controller;
+
+import com.test.test.dto.TaskImportDTO;
+import com.test.test.entity.TaskImportFormat;
+import com.test.test.exeception.ValidationException;
+import com.test.test.service.TaskImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Admin REST Controller for importing large task dumps
+ */
+@RestController
+@RequestMapping("/api/admin/imports")
+@RequiredArgsConstructor
+@Slf4j
+public class TaskImportController {
+
+    private final TaskImportService taskImportService;
+
+    /**
+     * Import tasks from an uploaded file, or from a file in the server's import directory.
+     * The response reports whether the import completed or failed, and how far it got.
+     */
+    @PostMapping
+    public ResponseEntity<TaskImportDTO> importTasks(
+            @RequestParam(required = false) MultipartFile file,
+            @RequestParam(required = false) String path,
+            @RequestParam(required = false) TaskImportFormat format) throws IOException {
+
+        if (file != null) {
+            log.info("Received request to import uploaded file: {}", file.getOriginalFilename());
+            try (InputStream in = file.getInputStream()) {
+                return ResponseEntity.ok(taskImportService.importStream(file.getOriginalFilename(), in, format));
+            }
+        }
+        if (path == null || path.isEmpty()) {
+            throw new ValidationException("Either a file or a path is required");
+        }
+        log.info("Received request to import local file: {}", path);
+        return ResponseEntity.ok(taskImportService.importFile(path, format));
+    }
+
+    /**
+     * Resume a failed import after its last committed chunk; uploads must send the same file again
+     */
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<TaskImportDTO> resumeImport(
+            @PathVariable Long id,
+            @RequestParam(required = false) MultipartFile file) throws IOException {
+
+        log.info("Received request to resume import: {}", id);
+        if (file != null) {
+            try (InputStream in = file.getInputStream()) {
+                return ResponseEntity.ok(taskImportService.resumeStream(id, in));
+            }
+        }
+        return ResponseEntity.ok(taskImportService.resumeFile(id));
+    }
+
+    /**
+     * Get the progress of an import
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<TaskImportDTO> getImport(@PathVariable Long id) {
+        log.info("Received request to get import: {}", id);
+        return ResponseEntity.ok(taskImportService.getImport(id));
+    }
+}
@@ -0,0 +1,19 @@
+package com.test.test.dto;
+
+/**
+ * Source of exclusive blocks of the code sequence, shared by every application node.
+ */
+public interface CodeBlockSource {
+
+    /**
+     * Atomically reserves {@code blockSize} consecutive sequence values and
+     * returns the first one. No other caller will ever receive a value of the block.
+     */
+    long reserveBlock(int blockSize);
+
+    /**
+     * Moves the sequence past {@code value}, so no block reserved afterwards contains
+     * it. Does nothing when the sequence is already beyond it.
+     */
+    void reservePast(long value);
+}
@@ -0,0 +1,83 @@
+package com.test.test.dto;
+
+/**
+ * Keyed bijection over the code space [0, CodeSpace.SIZE).
+ *
+ * A balanced Feistel network permutes the 38-bit domain that covers the code
+ * space; values that land outside the code space are walked through the
+ * network again until they fall back inside it (cycle walking). Each call
+ * needs about 2.4 rounds of the network on average and never collides.
+ */
+final class CodePermutation {
+
+    private static final int HALF_BITS = 19;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final int ROUNDS = 6;
+
+    private final long[] roundKeys = new long[ROUNDS];
+
+    CodePermutation(long key) {
+        long state = key;
+        for (int i = 0; i < ROUNDS; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            roundKeys[i] = mix(state);
+        }
+    }
+
+    long permute(long index) {
+        checkRange(index);
+        long value = index;
+        do {
+            value = encrypt(value);
+        } while (value >= CodeSpace.SIZE);
+        return value;
+    }
+
+    long invert(long permuted) {
+        checkRange(permuted);
+        long value = permuted;
+        do {
+            value = decrypt(value);
+        } while (value >= CodeSpace.SIZE);
+        return value;
+    }
+
+    private long encrypt(long value) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (int i = 0; i < ROUNDS; i++) {
+            long next = left ^ round(right, i);
+            left = right;
+            right = next;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private long decrypt(long value) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (int i = ROUNDS - 1; i >= 0; i--) {
+            long previous = right ^ round(left, i);
+            right = left;
+            left = previous;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private long round(long half, int round) {
+        return mix(half ^ roundKeys[round]) & HALF_MASK;
+    }
+
+    private static void checkRange(long value) {
+        if (value < 0 || value >= CodeSpace.SIZE) {
+            throw new IllegalArgumentException("Value outside code space: " + value);
+        }
+    }
+
+    /** SplitMix64 finalizer */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,139 @@
+package com.test.test.dto;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Compact membership set for codes encoded by {@link CodeSpace}.
+ *
+ * Codes are stored as primitive longs in open-addressing tables (about 12-16
+ * bytes per code instead of a String plus a hash map node). The set is split
+ * into independently locked stripes so concurrent writers rarely contend.
+ */
+final class CodeRegistry {
+
+    private static final int STRIPES = 64;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    CodeRegistry() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    boolean add(long index) {
+        long hash = hash(index);
+        return stripeFor(hash).add(index, hash);
+    }
+
+    boolean contains(long index) {
+        long hash = hash(index);
+        return stripeFor(hash).contains(index, hash);
+    }
+
+    long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    /**
+     * Lazily streams the registered indexes. Only one stripe is copied at a
+     * time, so the whole registry is never duplicated in memory.
+     */
+    LongStream stream() {
+        return IntStream.range(0, STRIPES)
+                .boxed()
+                .flatMapToLong(i -> stripes[i].snapshot());
+    }
+
+    private Stripe stripeFor(long hash) {
+        return stripes[(int) (hash >>> 58)];
+    }
+
+    private static long hash(long value) {
+        long z = value * 0x9E3779B97F4A7C15L;
+        return z ^ (z >>> 32);
+    }
+
+    /**
+     * Linear-probing table; slots hold index + 1 so that zero marks an empty slot.
+     */
+    private static final class Stripe {
+
+        private long[] slots = new long[INITIAL_CAPACITY];
+        private int size;
+
+        synchronized boolean add(long index, long hash) {
+            if ((size + 1) * 4L > slots.length * 3L) {
+                resize();
+            }
+            long stored = index + 1;
+            int mask = slots.length - 1;
+            for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+                if (slots[slot] == 0) {
+                    slots[slot] = stored;
+                    size++;
+                    return true;
+                }
+                if (slots[slot] == stored) {
+                    return false;
+                }
+            }
+        }
+
+        synchronized boolean contains(long index, long hash) {
+            long stored = index + 1;
+            int mask = slots.length - 1;
+            for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+                if (slots[slot] == 0) {
+                    return false;
+                }
+                if (slots[slot] == stored) {
+                    return true;
+                }
+            }
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void clear() {
+            slots = new long[INITIAL_CAPACITY];
+            size = 0;
+        }
+
+        synchronized LongStream snapshot() {
+            return Arrays.stream(slots.clone())
+                    .filter(stored -> stored != 0)
+                    .map(stored -> stored - 1);
+        }
+
+        private void resize() {
+            long[] previous = slots;
+            slots = new long[previous.length * 2];
+            int mask = slots.length - 1;
+            for (long stored : previous) {
+                if (stored != 0) {
+                    int slot = (int) hash(stored - 1) & mask;
+                    while (slots[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    slots[slot] = stored;
+                }
+            }
+        }
+    }
+}
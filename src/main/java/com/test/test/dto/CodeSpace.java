@@ -0,0 +1,66 @@
+package com.test.test.dto;
+
+/**
+ * Bijective mapping between task codes in format AA-NN-xxxx and their index in
+ * the enumerable code space [0, SIZE).
+ */
+final class CodeSpace {
+
+    private static final String UPPERCASE_LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String DIGITS = "0123456789";
+    private static final String ALPHANUMERIC = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    private static final long SUFFIX_SPACE = 36L * 36 * 36 * 36;
+
+    /** Number of distinct codes: 26^2 * 10^2 * 36^4 */
+    static final long SIZE = 26L * 26 * 10 * 10 * SUFFIX_SPACE;
+
+    private CodeSpace() {
+    }
+
+    /**
+     * Returns the index of a code, or -1 when the code is not in AA-NN-xxxx format.
+     */
+    static long encode(String code) {
+        if (code == null || code.length() != 10 || code.charAt(2) != '-' || code.charAt(5) != '-') {
+            return -1;
+        }
+        long index = 0;
+        int[] positions = {0, 1, 3, 4, 6, 7, 8, 9};
+        for (int position : positions) {
+            String charset = charsetAt(position);
+            int digit = charset.indexOf(code.charAt(position));
+            if (digit < 0) {
+                return -1;
+            }
+            index = index * charset.length() + digit;
+        }
+        return index;
+    }
+
+    static String decode(long index) {
+        if (index < 0 || index >= SIZE) {
+            throw new IllegalArgumentException("Code index out of range: " + index);
+        }
+        char[] code = new char[10];
+        code[2] = '-';
+        code[5] = '-';
+        long remaining = index;
+        for (int position = 9; position >= 0; position--) {
+            if (position == 2 || position == 5) {
+                continue;
+            }
+            String charset = charsetAt(position);
+            code[position] = charset.charAt((int) (remaining % charset.length()));
+            remaining /= charset.length();
+        }
+        return new String(code);
+    }
+
+    private static String charsetAt(int position) {
+        if (position < 2) {
+            return UPPERCASE_LETTERS;
+        }
+        return position < 5 ? DIGITS : ALPHANUMERIC;
+    }
+}
@@ -0,0 +1,30 @@
+package com.test.test.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One task of a bulk create request. The task fields are inlined; {@code ref} is a
+ * client-side id that other tasks of the same request may name as their {@code parentRef}.
+ * A task names either a {@code parentRef} or an existing {@code parentCode}, not both.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBulkItemDTO {
+
+    private String ref;
+
+    private String parentRef;
+
+    @Valid
+    @NotNull
+    @JsonUnwrapped
+    private TaskRequestDTO task;
+}
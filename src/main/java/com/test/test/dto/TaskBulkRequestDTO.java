@@ -0,0 +1,30 @@
+package com.test.test.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for creating many tasks in one request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBulkRequestDTO {
+
+    public static final int MAX_TASKS = 10_000;
+
+    @Valid
+    @NotEmpty(message = "At least one task is required")
+    @Size(max = MAX_TASKS, message = "At most " + MAX_TASKS + " tasks can be created per request")
+    @Builder.Default
+    private List<TaskBulkItemDTO> tasks = new ArrayList<>();
+}
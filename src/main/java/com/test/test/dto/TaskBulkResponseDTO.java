@@ -0,0 +1,23 @@
+package com.test.test.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the result of a bulk create: the code assigned to each task, in request order
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBulkResponseDTO {
+
+    private int created;
+    @Builder.Default
+    private List<String> codes = new ArrayList<>();
+}
@@ -0,0 +1,34 @@
+package com.test.test.dto;
+
+import com.test.test.entity.TaskStatus;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for changing many tasks at once. The tasks are selected either by
+ * {@code codes} or as all children of {@code parentCode}; fields left null
+ * are not changed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBulkUpdateDTO {
+
+    @Size(max = TaskBulkRequestDTO.MAX_TASKS,
+            message = "At most " + TaskBulkRequestDTO.MAX_TASKS + " codes can be updated per request")
+    private List<String> codes;
+
+    private String parentCode;
+
+    private TaskStatus status;
+
+    private Long assigneeId;
+
+    private String priority;
+}
@@ -0,0 +1,19 @@
+package com.test.test.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the result of a bulk update: how many tasks were selected and how many actually changed
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBulkUpdateResultDTO {
+
+    private long matched;
+    private int updated;
+}
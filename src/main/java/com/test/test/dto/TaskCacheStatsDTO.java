@@ -0,0 +1,25 @@
+package com.test.test.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the statistics of the task response cache since startup
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskCacheStatsDTO {
+
+    private long size;
+    private long maxSize;
+    private long ttlSeconds;
+    private long hits;
+    private long misses;
+    private double hitRate;
+    /** Entries evicted for size or expiry; explicit invalidations are not counted */
+    private long evictions;
+}
@@ -0,0 +1,7 @@
+package com.test.test.dto;
+
+/**
+ * Code of a child task together with the code of its parent
+ */
+public record TaskChildCode(String parentCode, String code) {
+}
@@ -0,0 +1,120 @@
+package com.test.test.dto;
+
+import com.test.test.exeception.ValidationException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Opaque keyset position in the task list: the sort key and id of the last task
+ * of a slice, encoded as URL-safe Base64. A cursor without a position points
+ * before the first task.
+ */
+public final class TaskCursor {
+
+    private static final String FIELD_SEPARATOR = "|";
+
+    /**
+     * Sort keys backed by a (key, id) index
+     */
+    public enum SortKey {
+        CREATE_AT("createAt", TaskView::createdAt),
+        UPDATED_AT("updatedAt", TaskView::updatedAt);
+
+        private final String property;
+        private final Function<TaskView, LocalDateTime> extractor;
+
+        SortKey(String property, Function<TaskView, LocalDateTime> extractor) {
+            this.property = property;
+            this.extractor = extractor;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        static SortKey ofProperty(String property) {
+            for (SortKey key : values()) {
+                if (key.property.equals(property)) {
+                    return key;
+                }
+            }
+            throw new ValidationException("Cursor pagination only supports sorting by createAt or updatedAt");
+        }
+    }
+
+    private final SortKey sortKey;
+    private final boolean ascending;
+    private final LocalDateTime lastValue;
+    private final Long lastId;
+
+    private TaskCursor(SortKey sortKey, boolean ascending, LocalDateTime lastValue, Long lastId) {
+        this.sortKey = sortKey;
+        this.ascending = ascending;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+
+    public static TaskCursor first(String sortBy, String sortDir) {
+        return new TaskCursor(SortKey.ofProperty(sortBy), "asc".equalsIgnoreCase(sortDir), null, null);
+    }
+
+    public static TaskCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] fields = decoded.split("\\" + FIELD_SEPARATOR, -1);
+            if (fields.length != 4) {
+                throw new ValidationException("Invalid cursor");
+            }
+            return new TaskCursor(SortKey.valueOf(fields[0]), Boolean.parseBoolean(fields[1]),
+                    LocalDateTime.parse(fields[2]), Long.valueOf(fields[3]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Cursor pointing just after the given task, in the same order as this one.
+     */
+    public TaskCursor after(TaskView task) {
+        return new TaskCursor(sortKey, ascending, sortKey.extractor.apply(task), task.id());
+    }
+
+    public String encode() {
+        String raw = sortKey.name() + FIELD_SEPARATOR + ascending + FIELD_SEPARATOR
+                + lastValue + FIELD_SEPARATOR + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isFirst() {
+        return lastId == null;
+    }
+
+    /**
+     * Sort on the key with the id as tie-breaker, matching the (key, id) index.
+     */
+    public Sort sort() {
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(direction, sortKey.property).and(Sort.by(direction, "id"));
+    }
+
+    public SortKey getSortKey() {
+        return sortKey;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public LocalDateTime getLastValue() {
+        return lastValue;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+}
@@ -0,0 +1,30 @@
+package com.test.test.dto;
+
+import com.test.test.entity.TaskImportFormat;
+import com.test.test.entity.TaskImportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the progress of a file import
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskImportDTO {
+
+    private Long id;
+    private String source;
+    private TaskImportFormat format;
+    private TaskImportStatus status;
+    private int chunkSize;
+    private long committedRecords;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,50 @@
+package com.test.test.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.test.test.entity.TaskStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One task read from an import file. NDJSON lines written by the export match
+ * it directly; CSV files use these property names as header columns. A missing
+ * code is generated; a parent must appear earlier in the file or already exist.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TaskImportRecord {
+
+    private String code;
+
+    private String parentCode;
+
+    @NotBlank(message = "Title is required")
+    private String title;
+
+    private String description;
+
+    @NotNull(message = "Status is required")
+    private TaskStatus status;
+
+    private LocalDateTime assignedDate;
+
+    private LocalDateTime dueDate;
+
+    @NotNull(message = "Creator ID is required")
+    private Long creatorId;
+
+    private Long assigneeId;
+
+    private String priority;
+
+    private String tags;
+}
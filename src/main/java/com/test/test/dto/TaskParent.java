@@ -0,0 +1,8 @@
+package com.test.test.dto;
+
+/**
+ * Id and position in the hierarchy of a task about to receive a child, read without
+ * loading the task
+ */
+public record TaskParent(Long id, String code, String path, Integer depth) {
+}
@@ -0,0 +1,42 @@
+package com.test.test.dto;
+
+import com.test.test.entity.TaskStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * DTO for changing some fields of a task, with JSON merge patch semantics: a field
+ * left out of the request is null here and not changed, a field sent as null is an
+ * empty Optional and cleared. An empty or null {@code parentCode} makes the task a root.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskPatchDTO {
+
+    private Optional<@NotBlank(message = "Title must not be blank") String> title;
+
+    private Optional<String> description;
+
+    private Optional<@NotNull(message = "Status must not be null") TaskStatus> status;
+
+    private Optional<LocalDateTime> assignedDate;
+
+    private Optional<LocalDateTime> dueDate;
+
+    private Optional<Long> assigneeId;
+
+    private Optional<String> parentCode;
+
+    private Optional<String> priority;
+
+    private Optional<String> tags;
+}
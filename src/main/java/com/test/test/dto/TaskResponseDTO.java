@@ -16,7 +16,7 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class TaskResponseDTO {
     
     private Long id;
@@ -34,6 +34,8 @@ public class TaskResponseDTO {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private int hierarchyLevel;
+    /** Sent as the ETag of the task, too */
+    private Long version;
     @Builder.Default
     private List<String> childCodes = new ArrayList<>();
 }
\ No newline at end of file
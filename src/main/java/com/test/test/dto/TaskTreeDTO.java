@@ -0,0 +1,23 @@
+package com.test.test.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for a task together with its nested descendants
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskTreeDTO {
+
+    private TaskResponseDTO task;
+    @Builder.Default
+    private List<TaskTreeDTO> children = new ArrayList<>();
+}
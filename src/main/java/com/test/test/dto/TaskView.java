@@ -0,0 +1,33 @@
+package com.test.test.dto;
+
+import com.test.test.entity.Task;
+import com.test.test.entity.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a task row, selected straight into this record by
+ * TaskRepository queries so read endpoints never hydrate managed entities.
+ */
+public record TaskView(
+        Long id,
+        String code,
+        String title,
+        String description,
+        TaskStatus status,
+        LocalDateTime assignedDate,
+        LocalDateTime dueDate,
+        Long creatorId,
+        Long assigneeId,
+        String parentCode,
+        String priority,
+        String tags,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Integer depth,
+        Long version) {
+
+    public int hierarchyLevel() {
+        return Task.hierarchyLevelOf(depth);
+    }
+}
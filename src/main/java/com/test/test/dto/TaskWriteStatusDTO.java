@@ -0,0 +1,37 @@
+package com.test.test.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the state of an accepted asynchronous task write
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskWriteStatusDTO {
+
+    public enum State {
+        /** Queued or being written */
+        PENDING,
+        /** Committed; the task can be read under its code */
+        CREATED,
+        /** Rejected or failed; nothing was written */
+        FAILED
+    }
+
+    private String code;
+    private State state;
+    private LocalDateTime acceptedAt;
+    private LocalDateTime completedAt;
+    /** Why the write failed, when it did */
+    private String error;
+    private String statusUrl;
+    /** Where the task can be read, once created */
+    private String taskUrl;
+}
@@ -1,91 +1,322 @@
 package com.test.test.dto;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.HashSet;
-import java.util.Random;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 /**
- * Service for generating unique codes in format: AAA-NNN-SSSS
- * Total length: 12 characters (including hyphens)
+ * Service for generating unique codes in format: AA-NN-xxxx
+ * Total length: 10 characters (including hyphens)
+ *
+ * Safe for concurrent use: every thread draws from its own random source and a
+ * code is only handed out once it has been claimed atomically in the registry.
+ * The registry stores each code as its primitive index in the code space
+ * rather than as a String.
+ *
+ * With the PERMUTED_SEQUENCE strategy codes are instead allocated by passing a
+ * monotonically increasing counter through a keyed bijection of the code space,
+ * so every call is O(1), never collides and no registry of issued codes is kept.
+ * The counter lives in memory only and restarts at 0, which would issue the codes
+ * of stored tasks again, so the strategy is rejected with a persistent datasource.
+ * LEASED_BLOCKS uses the same permutation, but each node leases blocks of the
+ * counter from the database, keeping codes unique across the whole cluster and
+ * across restarts.
  */
 @Service
 public class UniqueCodeGenerator {
 
-    private static final String UPPERCASE_LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
-    private static final String DIGITS = "0123456789";
-    private static final String LOWERCASE_LETTERS = "abcdefghijklmnopqrstuvwxyz";
-    private static final String ALPHANUMERIC = DIGITS + LOWERCASE_LETTERS;
+    public enum Strategy {
+        RANDOM,
+        PERMUTED_SEQUENCE,
+        LEASED_BLOCKS
+    }
 
+    private static final int CODE_LENGTH = 10;
     private static final Pattern CODE_PATTERN = Pattern.compile("^[A-Z]{2}-\\d{2}-[0-9a-z]{4}$");
     private static final int MAX_GENERATION_ATTEMPTS = 1000;
+    private static final long DEFAULT_PERMUTATION_KEY = 0x5DEECE66DL;
+    private static final int DEFAULT_LEASE_BLOCK_SIZE = 1000;
+    private static final String IN_MEMORY_DATASOURCE_PREFIX = "jdbc:h2:mem:";
 
-    private final Set<String> generatedCodes = new HashSet<>();
-    private final Random random = new Random();
+    private final Strategy strategy;
+    private final CodeRegistry generatedCodes = new CodeRegistry();
+    private final CodePermutation permutation;
+    private final CodeBlockSource blockSource;
+    private final int leaseBlockSize;
+    private final List<CodeBlock> issuedBlocks = new CopyOnWriteArrayList<>();
+    private volatile CodeBlock currentBlock;
 
+    public UniqueCodeGenerator() {
+        this(Strategy.RANDOM, DEFAULT_PERMUTATION_KEY);
+    }
 
-    public String generateCode() {
-        int attempts = 0;
-        String code;
-
-        do {
-            if (attempts >= MAX_GENERATION_ATTEMPTS) {
-                throw new IllegalStateException(
-                        "Unable to generate unique code after " + MAX_GENERATION_ATTEMPTS + " attempts"
-                );
-            }
+    public UniqueCodeGenerator(Strategy strategy, long permutationKey) {
+        this(strategy, permutationKey, (CodeBlockSource) null, DEFAULT_LEASE_BLOCK_SIZE);
+    }
+
+    @Autowired
+    public UniqueCodeGenerator(@Value("${task.code.strategy:RANDOM}") Strategy strategy,
+                               @Value("${task.code.permutation-key:" + DEFAULT_PERMUTATION_KEY + "}") long permutationKey,
+                               ObjectProvider<CodeBlockSource> blockSource,
+                               @Value("${task.code.lease-block-size:" + DEFAULT_LEASE_BLOCK_SIZE + "}") int leaseBlockSize,
+                               @Value("${spring.datasource.url:}") String datasourceUrl) {
+        this(strategy, permutationKey, blockSource.getIfAvailable(), leaseBlockSize);
+        if (strategy == Strategy.PERMUTED_SEQUENCE && !isInMemory(datasourceUrl)) {
+            throw new IllegalArgumentException("PERMUTED_SEQUENCE strategy restarts its counter on every start "
+                    + "and would reissue stored codes; use LEASED_BLOCKS with the datasource " + datasourceUrl);
+        }
+    }
 
-            // Generate AAA (2 uppercase letters)
-            String letters = generateRandomString(UPPERCASE_LETTERS, 2);
+    public UniqueCodeGenerator(Strategy strategy, long permutationKey, CodeBlockSource blockSource, int leaseBlockSize) {
+        if (strategy == Strategy.LEASED_BLOCKS && blockSource == null) {
+            throw new IllegalArgumentException("LEASED_BLOCKS strategy requires a code block source");
+        }
+        this.strategy = strategy;
+        this.permutation = new CodePermutation(permutationKey);
+        this.blockSource = blockSource;
+        this.leaseBlockSize = leaseBlockSize;
+        resetBlocks();
+    }
+
+
+    /**
+     * Whether the datasource forgets its tasks on shutdown; an unset URL is Spring Boot's embedded database.
+     */
+    private static boolean isInMemory(String datasourceUrl) {
+        return datasourceUrl == null || datasourceUrl.isEmpty() || datasourceUrl.startsWith(IN_MEMORY_DATASOURCE_PREFIX);
+    }
 
-            // Generate NNN (2 digits)
-            String digits = generateRandomString(DIGITS, 2);
 
-            // Generate SSSS (4 alphanumeric characters - digits or lowercase)
-            String suffix = generateRandomString(ALPHANUMERIC, 4);
+    public String generateCode() {
+        if (strategy != Strategy.RANDOM) {
+            return generateSequencedCode();
+        }
 
-            code = letters + "-" + digits + "-" + suffix;
-            attempts++;
+        for (int attempts = 0; attempts < MAX_GENERATION_ATTEMPTS; attempts++) {
+            long index = ThreadLocalRandom.current().nextLong(CodeSpace.SIZE);
 
-        } while (generatedCodes.contains(code));
+            // add() is the atomic claim: only one thread can win a given code
+            if (generatedCodes.add(index)) {
+                return CodeSpace.decode(index);
+            }
+        }
+        throw new IllegalStateException(
+                "Unable to generate unique code after " + MAX_GENERATION_ATTEMPTS + " attempts"
+        );
+    }
 
-        generatedCodes.add(code);
-        return code;
+    /**
+     * Issues {@code count} codes at once. The sequence strategies claim each run of
+     * values from the current block with a single atomic step.
+     */
+    public List<String> generateCodes(int count) {
+        List<String> codes = new ArrayList<>(count);
+        if (strategy == Strategy.RANDOM) {
+            while (codes.size() < count) {
+                codes.add(generateCode());
+            }
+            return codes;
+        }
+        while (codes.size() < count) {
+            CodeBlock block = currentBlock;
+            long first = block != null ? block.claim(count - codes.size()) : -1;
+            if (first < 0) {
+                replaceExhaustedBlock(block);
+                continue;
+            }
+            long end = Math.min(first + count - codes.size(), block.end);
+            for (long value = first; value < end; value++) {
+                codes.add(CodeSpace.decode(permutation.permute(value)));
+            }
+        }
+        return codes;
     }
 
     public boolean validateCodeFormat(String code) {
-        if (code == null || code.length() != 12) {
+        if (code == null || code.length() != CODE_LENGTH) {
             return false;
         }
         return CODE_PATTERN.matcher(code).matches();
     }
 
     public boolean codeExists(String code) {
-        return generatedCodes.contains(code);
+        long index = CodeSpace.encode(code);
+        if (index < 0) {
+            return false;
+        }
+        if (strategy != Strategy.RANDOM) {
+            long sequenceValue = permutation.invert(index);
+            return issuedBlocks.stream().anyMatch(block -> block.isIssued(sequenceValue));
+        }
+        return generatedCodes.contains(index);
     }
 
-    public Set<String> getAllCodes() {
-        return new HashSet<>(generatedCodes);
+    /**
+     * Lazily streams every issued code; nothing is materialized up front.
+     */
+    public Stream<String> getAllCodes() {
+        LongStream indexes = strategy != Strategy.RANDOM
+                ? issuedBlocks.stream().flatMapToLong(CodeBlock::issued).map(permutation::permute)
+                : generatedCodes.stream();
+        return indexes.mapToObj(CodeSpace::decode);
     }
 
     public void registerCode(String code) {
-        if (validateCodeFormat(code)) {
-            generatedCodes.add(code);
+        registerCodes(Collections.singletonList(code));
+    }
+
+    /**
+     * Records codes issued elsewhere, such as imported ones, so they are not issued
+     * again. The sequence strategies keep no registry: the counter moves past the
+     * sequence value of each code instead, and under LEASED_BLOCKS the shared
+     * sequence is moved past the highest value no local block covers, once per call.
+     * A code from another key or strategy can lie far ahead in the sequence, and
+     * the values skipped over are not issued. A block another node already holds
+     * is not affected.
+     */
+    public void registerCodes(Collection<String> codes) {
+        List<Long> unleased = new ArrayList<>(0);
+        for (String code : codes) {
+            if (!validateCodeFormat(code)) {
+                continue;
+            }
+            long index = CodeSpace.encode(code);
+            if (strategy == Strategy.RANDOM) {
+                generatedCodes.add(index);
+                continue;
+            }
+            long sequenceValue = permutation.invert(index);
+            CodeBlock block = currentBlock;
+            if (block != null && block.contains(sequenceValue)) {
+                block.skipPast(sequenceValue);
+            } else if (strategy == Strategy.LEASED_BLOCKS) {
+                unleased.add(sequenceValue);
+            }
+        }
+        if (!unleased.isEmpty()) {
+            reservePast(unleased);
         }
     }
 
-    private String generateRandomString(String charset, int length) {
-        StringBuilder sb = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            int index = random.nextInt(charset.length());
-            sb.append(charset.charAt(index));
+    private String generateSequencedCode() {
+        while (true) {
+            CodeBlock block = currentBlock;
+            long next = block != null ? block.claim() : -1;
+            if (next >= 0) {
+                return CodeSpace.decode(permutation.permute(next));
+            }
+            replaceExhaustedBlock(block);
+        }
+    }
+
+    private synchronized void replaceExhaustedBlock(CodeBlock exhausted) {
+        if (currentBlock != exhausted) {
+            // Another thread already installed a fresh block
+            return;
+        }
+        if (strategy != Strategy.LEASED_BLOCKS) {
+            throw new IllegalStateException("Unable to generate unique code: code space exhausted");
+        }
+        long start = blockSource.reserveBlock(leaseBlockSize);
+        if (start >= CodeSpace.SIZE) {
+            throw new IllegalStateException("Unable to generate unique code: code space exhausted");
+        }
+        CodeBlock leased = new CodeBlock(start, Math.min(start + leaseBlockSize, CodeSpace.SIZE));
+        issuedBlocks.add(leased);
+        currentBlock = leased;
+    }
+
+    /**
+     * Holds the lock that block replacement takes, so no block is leased between
+     * the check and the reservation.
+     */
+    private synchronized void reservePast(List<Long> sequenceValues) {
+        long highest = -1;
+        for (long sequenceValue : sequenceValues) {
+            if (currentBlock != null && currentBlock.contains(sequenceValue)) {
+                currentBlock.skipPast(sequenceValue);
+            } else if (issuedBlocks.stream().noneMatch(block -> block.contains(sequenceValue))) {
+                highest = Math.max(highest, sequenceValue);
+            }
+        }
+        if (highest >= 0) {
+            blockSource.reservePast(highest);
+        }
+    }
+
+    private synchronized void resetBlocks() {
+        issuedBlocks.clear();
+        currentBlock = null;
+        if (strategy == Strategy.PERMUTED_SEQUENCE) {
+            // A single local block spanning the whole sequence
+            currentBlock = new CodeBlock(0, CodeSpace.SIZE);
+            issuedBlocks.add(currentBlock);
         }
-        return sb.toString();
     }
 
     public void clearAllCodes() {
         generatedCodes.clear();
+        resetBlocks();
+    }
+
+    /**
+     * Range [start, end) of the sequence owned by this node; values are claimed lock-free.
+     */
+    private static final class CodeBlock {
+
+        private final long start;
+        private final long end;
+        private final AtomicLong next;
+
+        CodeBlock(long start, long end) {
+            this.start = start;
+            this.end = end;
+            this.next = new AtomicLong(start);
+        }
+
+        long claim() {
+            long value = next.getAndIncrement();
+            return value < end ? value : -1;
+        }
+
+        /**
+         * Claims up to {@code count} consecutive values; returns the first one, or -1
+         * when the block is exhausted. The run is cut short at the end of the block.
+         */
+        long claim(int count) {
+            long value = next.getAndAdd(count);
+            return value < end ? value : -1;
+        }
+
+        boolean contains(long value) {
+            return value >= start && value < end;
+        }
+
+        /**
+         * Makes sure {@code value} is never claimed; it then counts as issued.
+         */
+        void skipPast(long value) {
+            next.accumulateAndGet(value + 1, Math::max);
+        }
+
+        boolean isIssued(long value) {
+            return value >= start && value < Math.min(next.get(), end);
+        }
+
+        LongStream issued() {
+            return LongStream.range(start, Math.min(next.get(), end));
+        }
     }
-}
\ No newline at end of file
+}
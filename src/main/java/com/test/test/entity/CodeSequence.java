@@ -0,0 +1,28 @@
+package com.test.test.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cluster-wide allocation counter; each application node leases a block of
+ * values from it and issues codes from that block locally.
+ */
+@Entity
+@Table(name = "code_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CodeSequence {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
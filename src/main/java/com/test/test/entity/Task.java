@@ -1,25 +1,55 @@
 package com.test.test.entity;
 
 import jakarta.persistence.*;
+import com.test.test.service.TaskCodeListener;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+/**
+ * Updated with dynamic UPDATE statements, which set only the columns that changed
+ * rather than every column, so that small edits such as a status change write little.
+ */
 @Entity
+@DynamicUpdate
+@EntityListeners(TaskCodeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task")
 @Table(name= "tasks", indexes = {@Index(name ="idx_code",columnList = "code",unique = true),
-        @Index(name = "idx_parent_code", columnList =  "parent_code")})
+        @Index(name = "idx_parent_code", columnList =  "parent_code"),
+        @Index(name = "idx_path", columnList = "path"),
+        @Index(name = "idx_create_at_id", columnList = "create_at, id"),
+        @Index(name = "idx_updated_at_id", columnList = "updated_at, id")})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Setter
 public class Task {
+
+    /** Deepest level a task may sit at; root tasks are at level 1 */
+    public static final int MAX_HIERARCHY_LEVEL = 5;
+
+    /** Materialized path of a root task; a child's path is its parent's path + parent code + "/" */
+    public static final String ROOT_PATH = "/";
+    private static final String PATH_SEPARATOR = "/";
+
+    /** Ids come from a pooled sequence, 50 per round trip, so inserts can be JDBC-batched */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
+    /** Never changes once a task is created */
     @Column(unique = true,nullable = false, length = 12)
     private String code;
     @Column(nullable = false)
@@ -44,11 +74,25 @@ public class Task {
     private Long assignedId;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name="parent_code",referencedColumnName = "code")
-    @Setter
+    @JoinColumn(name="parent_id")
     private Task  parent;
 
+    /** Copy of parent.code kept on the row so reads never touch the parent */
+    @Column(name = "parent_code", length = 12)
+    private String parentCode;
+
+    /** Ancestor codes from the root down, e.g. "/AB-12-xyz1/CD-34-abcd/" */
+    @Column(name = "path", nullable = false)
+    @Builder.Default
+    private String path = ROOT_PATH;
+
+    /** Number of ancestors; 0 for a root task */
+    @Column(name = "depth", nullable = false)
+    @Builder.Default
+    private Integer depth = 0;
+
     @OneToMany(mappedBy = "parent",cascade = CascadeType.ALL,orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task-children")
     @Builder.Default
     private List<Task> children = new ArrayList<>();
 
@@ -64,27 +108,115 @@ public class Task {
     @Column(name="updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Incremented by every update, and checked by it: an update of a task changed
+     * since it was loaded fails. Set-based updates increment it themselves.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /** Set by {@link #stampUpdate()} until the update is flushed */
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean updateStamped;
+
     public int getHierarchyLevel(){
-        int level = 1;
-        Task current = this.parent;
-        while(current != null && level < 5){
-            level++;
-            current = current.parent;
+        return hierarchyLevelOf(depth);
+    }
+
+    /**
+     * Hierarchy level of a task with the given number of ancestors; 1 for a root task.
+     */
+    public static int hierarchyLevelOf(int depth) {
+        return depth + 1;
+    }
+
+    /**
+     * Codes of all ancestors, root first, read from the materialized path.
+     */
+    public List<String> getAncestorCodes() {
+        if (ROOT_PATH.equals(path)) {
+            return Collections.emptyList();
         }
-        return level;
+        return Arrays.asList(path.substring(1, path.length() - 1).split(PATH_SEPARATOR));
+    }
+
+    /**
+     * Path prefix shared by every descendant of this task.
+     */
+    public String getSubtreePath() {
+        return path + code + PATH_SEPARATOR;
+    }
+
+    /**
+     * Sets the parent and derives parent code, path and depth from it.
+     */
+    public void setParent(Task parent) {
+        this.parent = parent;
+        this.parentCode = parent != null ? parent.getCode() : null;
+        this.path = parent != null ? parent.getSubtreePath() : ROOT_PATH;
+        this.depth = parent != null ? parent.getHierarchyLevel() : 0;
+    }
+
+    /**
+     * Sets the parent from its code and position, without touching {@code parent},
+     * which may be an uninitialized reference.
+     */
+    public void setParent(Task parent, String parentCode, String parentPath, int parentDepth) {
+        this.parent = parent;
+        this.parentCode = parentCode;
+        this.path = parentPath + parentCode + PATH_SEPARATOR;
+        this.depth = parentDepth + 1;
+    }
+
+    /**
+     * Stamps updated_at now rather than at the next flush, so that a response built
+     * before the flush shows the value that is stored.
+     */
+    public void stampUpdate() {
+        updatedAt = now();
+        updateStamped = true;
+    }
+
+
+    /**
+     * Version the row has once a stamped update is flushed, which increments it;
+     * like {@link #stampUpdate()}, so that a response built before the flush is current.
+     */
+    public Long getWrittenVersion() {
+        return updateStamped && version != null ? version + 1 : version;
+    }
+
+
+    /**
+     * Current time at the microsecond precision of the timestamp columns, so keyset cursors match stored values.
+     * Set-based updates, which bypass the entity callbacks, stamp updated_at with it too.
+     */
+    public static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 
 
     @PrePersist
     protected void onCreate(){
-        createAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        createAt = now();
+        updatedAt = now();
+        if (parent != null && parentCode == null) {
+            // Built with a parent rather than given one through setParent
+            setParent(parent);
+        }
     }
 
 
     @PreUpdate
     protected void onUpdate(){
-        updatedAt = LocalDateTime.now();
+        if (!updateStamped) {
+            updatedAt = now();
+        }
+        updateStamped = false;
     }
 
 
@@ -0,0 +1,71 @@
+package com.test.test.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a file import. Records are committed in chunks and
+ * {@code committedRecords} advances in the same transaction as each chunk,
+ * so a failed import resumes exactly after the last committed chunk. While an
+ * import runs, {@code updatedAt} serves as its heartbeat.
+ */
+@Entity
+@Table(name = "task_imports")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskImport {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Uploaded file name, or the local path for imports read from the server's disk */
+    @Column(nullable = false)
+    private String source;
+
+    /** Set when the import reads a local file, which a resume can open again */
+    @Column(name = "local_path")
+    private String localPath;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskImportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskImportStatus status;
+
+    @Column(name = "chunk_size", nullable = false)
+    private int chunkSize;
+
+    @Column(name = "committed_records", nullable = false)
+    private long committedRecords;
+
+    /** Hash over the committed records, in order; a resume must read the same records first */
+    @Column(name = "committed_fingerprint", nullable = false)
+    private long committedFingerprint;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "create_at")
+    private LocalDateTime createAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,7 @@
+package com.test.test.entity;
+
+public enum TaskImportFormat {
+
+    NDJSON,
+    CSV,
+}
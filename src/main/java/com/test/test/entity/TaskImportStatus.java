@@ -0,0 +1,8 @@
+package com.test.test.entity;
+
+public enum TaskImportStatus {
+
+    RUNNING,
+    COMPLETED,
+    FAILED,
+}
@@ -0,0 +1,11 @@
+package com.test.test.exeception;
+
+/**
+ * Exception thrown when another run of the same import has taken it over
+ */
+public class ImportConflictException extends RuntimeException {
+
+    public ImportConflictException(String message) {
+        super(message);
+    }
+}
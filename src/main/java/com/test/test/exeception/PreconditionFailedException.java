@@ -0,0 +1,11 @@
+package com.test.test.exeception;
+
+/**
+ * Exception thrown when a conditional request names a version of a resource that is not current
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
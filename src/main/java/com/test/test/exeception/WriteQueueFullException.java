@@ -0,0 +1,11 @@
+package com.test.test.exeception;
+
+/**
+ * Exception thrown when an asynchronous write cannot be queued because the queue is full
+ */
+public class WriteQueueFullException extends RuntimeException {
+
+    public WriteQueueFullException(String message) {
+        super(message);
+    }
+}
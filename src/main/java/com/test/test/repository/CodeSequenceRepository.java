@@ -0,0 +1,30 @@
+package com.test.test.repository;
+
+import com.test.test.entity.CodeSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for CodeSequence entity
+ */
+@Repository
+public interface CodeSequenceRepository extends JpaRepository<CodeSequence, String> {
+
+    @Modifying
+    @Query("UPDATE CodeSequence s SET s.nextValue = s.nextValue + :amount WHERE s.name = :name")
+    int advance(@Param("name") String name, @Param("amount") long amount);
+
+    @Modifying
+    @Query("UPDATE CodeSequence s SET s.nextValue = :nextValue WHERE s.name = :name AND s.nextValue < :nextValue")
+    int raise(@Param("name") String name, @Param("nextValue") long nextValue);
+
+    @Modifying
+    @Query(value = "INSERT INTO code_sequences (name, next_value) VALUES (:name, :nextValue)", nativeQuery = true)
+    void create(@Param("name") String name, @Param("nextValue") long nextValue);
+
+    @Query("SELECT s.nextValue FROM CodeSequence s WHERE s.name = :name")
+    Long findNextValue(@Param("name") String name);
+}
@@ -0,0 +1,40 @@
+package com.test.test.repository;
+
+import com.test.test.entity.TaskImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for TaskImport entity
+ */
+@Repository
+public interface TaskImportRepository extends JpaRepository<TaskImport, Long> {
+
+    /**
+     * Moves a failed import back to RUNNING, or takes over a running one whose last
+     * heartbeat is older than {@code expiredBefore}, as left behind by a crash.
+     * Returns 0 otherwise, so of two concurrent resumes only one gets to run.
+     */
+    @Modifying
+    @Query("UPDATE TaskImport i SET i.status = com.test.test.entity.TaskImportStatus.RUNNING, " +
+            "i.lastError = NULL, i.updatedAt = :now " +
+            "WHERE i.id = :id AND (i.status = com.test.test.entity.TaskImportStatus.FAILED " +
+            "OR (i.status = com.test.test.entity.TaskImportStatus.RUNNING AND i.updatedAt < :expiredBefore))")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("expiredBefore") LocalDateTime expiredBefore);
+
+    /**
+     * Advances the progress by one chunk, and the heartbeat with it. Returns 0 when
+     * another run has moved it on from {@code expected} in the meantime.
+     */
+    @Modifying
+    @Query("UPDATE TaskImport i SET i.committedRecords = i.committedRecords + :count, " +
+            "i.committedFingerprint = :fingerprint, i.updatedAt = :now " +
+            "WHERE i.id = :id AND i.committedRecords = :expected")
+    int advance(@Param("id") Long id, @Param("expected") long expected, @Param("count") long count,
+                @Param("fingerprint") long fingerprint, @Param("now") LocalDateTime now);
+}
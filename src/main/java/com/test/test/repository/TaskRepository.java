@@ -1,15 +1,26 @@
 package com.test.test.repository;
 
+import com.test.test.dto.TaskChildCode;
+import com.test.test.dto.TaskParent;
+import com.test.test.dto.TaskView;
 import com.test.test.entity.Task;
+import com.test.test.entity.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Task entity
@@ -17,16 +28,184 @@ import java.util.Optional;
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
+    /** Selects task rows straight into {@link TaskView} records */
+    String SELECT_VIEW = "SELECT new com.test.test.dto.TaskView(t.id, t.code, t.title, t.description, t.status, " +
+            "t.assignedDate, t.dueDate, t.createdId, t.assignedId, t.parentCode, t.priority, t.tags, " +
+            "t.createAt, t.updatedAt, t.depth, t.version) FROM Task t";
+
+    /**
+     * Cached in the query cache; any write to the tasks table invalidates the cached results.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT t FROM Task t LEFT JOIN FETCH t.children WHERE t.code = :code")
     Optional<Task> findByCode(@Param("code") String code);
 
-    @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.children")
-    Page<Task> findAll(Pageable pageable);
+    /**
+     * SET clause of the bulk updates: null parameters keep the current value.
+     * Only rows where a value actually changes are updated (and get a new
+     * updated_at), just as Hibernate skips the update of a clean entity.
+     */
+    String BULK_UPDATE_SET = "UPDATE Task t SET t.status = COALESCE(:status, t.status), " +
+            "t.assignedId = COALESCE(:assigneeId, t.assignedId), " +
+            "t.priority = COALESCE(:priority, t.priority), t.updatedAt = :now, t.version = t.version + 1 ";
+    String BULK_UPDATE_CHANGES = " AND ((:status IS NOT NULL AND t.status <> :status) " +
+            "OR (:assigneeId IS NOT NULL AND (t.assignedId IS NULL OR t.assignedId <> :assigneeId)) " +
+            "OR (:priority IS NOT NULL AND (t.priority IS NULL OR t.priority <> :priority)))";
+
+    @Query(SELECT_VIEW + " WHERE t.code = :code")
+    Optional<TaskView> findViewByCode(@Param("code") String code);
+
+    /**
+     * Id and position of a prospective parent, without loading it or its children.
+     */
+    @Query("SELECT new com.test.test.dto.TaskParent(t.id, t.code, t.path, t.depth) FROM Task t WHERE t.code = :code")
+    Optional<TaskParent> findParentByCode(@Param("code") String code);
+
+    boolean existsByCode(String code);
+
+    /**
+     * Version of a task alone, for conditional requests that need nothing else.
+     */
+    @Query("SELECT t.version FROM Task t WHERE t.code = :code")
+    Optional<Long> findVersionByCode(@Param("code") String code);
+
+    List<Task> findByCodeIn(Collection<String> codes);
+
+    @Query(value = SELECT_VIEW, countQuery = "SELECT COUNT(t) FROM Task t")
+    Page<TaskView> findAllViews(Pageable pageable);
+
 
-    @Query("SELECT t FROM Task t JOIN FETCH t.parent p WHERE p.code = :parentCode")
+    /**
+     * Keyset pagination: the first slice in the order given by the pageable,
+     * without a COUNT query. Later slices continue after the last (sort key, id)
+     * seen, which the (create_at, id) and (updated_at, id) indexes serve directly.
+     */
+    @Query(SELECT_VIEW)
+    List<TaskView> findFirstViews(Pageable pageable);
+
+    @Query(SELECT_VIEW + " WHERE t.createAt > :createAt OR (t.createAt = :createAt AND t.id > :id)")
+    List<TaskView> findViewsCreatedAfter(@Param("createAt") LocalDateTime createAt, @Param("id") Long id, Pageable pageable);
+
+    @Query(SELECT_VIEW + " WHERE t.createAt < :createAt OR (t.createAt = :createAt AND t.id < :id)")
+    List<TaskView> findViewsCreatedBefore(@Param("createAt") LocalDateTime createAt, @Param("id") Long id, Pageable pageable);
+
+    @Query(SELECT_VIEW + " WHERE t.updatedAt > :updatedAt OR (t.updatedAt = :updatedAt AND t.id > :id)")
+    List<TaskView> findViewsUpdatedAfter(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id, Pageable pageable);
+
+    @Query(SELECT_VIEW + " WHERE t.updatedAt < :updatedAt OR (t.updatedAt = :updatedAt AND t.id < :id)")
+    List<TaskView> findViewsUpdatedBefore(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT t FROM Task t WHERE t.parentCode = :parentCode")
     List<Task> findByParentCode(@Param("parentCode") String parentCode);
-    
 
+    @Query(SELECT_VIEW + " WHERE t.parentCode = :parentCode")
+    List<TaskView> findViewsByParentCode(@Param("parentCode") String parentCode);
+
+    /**
+     * Codes of the children of all given parents in one query, without loading the children.
+     */
+    @Query("SELECT new com.test.test.dto.TaskChildCode(t.parentCode, t.code) FROM Task t " +
+            "WHERE t.parentCode IN :parentCodes ORDER BY t.id")
+    List<TaskChildCode> findChildCodes(@Param("parentCodes") Collection<String> parentCodes);
+
+    /**
+     * Loads a task and its descendants down to {@code maxDepth} levels below it
+     * with a single recursive query, ordered by id.
+     */
+    @Query(value = "WITH RECURSIVE subtree (id, lvl) AS (" +
+            "SELECT id, 0 FROM tasks WHERE code = :code " +
+            "UNION ALL " +
+            "SELECT c.id, s.lvl + 1 FROM tasks c JOIN subtree s ON c.parent_id = s.id WHERE s.lvl < :maxDepth" +
+            ") SELECT t.* FROM tasks t JOIN subtree s ON t.id = s.id ORDER BY t.id",
+            nativeQuery = true)
+    List<Task> findSubtree(@Param("code") String code, @Param("maxDepth") int maxDepth);
+
+    /**
+     * Codes of all descendants below a subtree path, found by the index on path.
+     */
+    @Query("SELECT t.code FROM Task t WHERE t.path LIKE CONCAT(:subtreePath, '%')")
+    List<String> findCodesInSubtree(@Param("subtreePath") String subtreePath);
+
+    @Query("SELECT MAX(t.depth) FROM Task t WHERE t.path LIKE CONCAT(:subtreePath, '%')")
+    Integer findMaxDepthInSubtree(@Param("subtreePath") String subtreePath);
+
+    /**
+     * Rewrites the materialized path of every descendant when a subtree is moved.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.path = CONCAT(:newSubtreePath, SUBSTRING(t.path, LENGTH(:oldSubtreePath) + 1)), " +
+            "t.depth = t.depth + :depthDelta, t.version = t.version + 1 WHERE t.path LIKE CONCAT(:oldSubtreePath, '%')")
+    int moveSubtree(@Param("oldSubtreePath") String oldSubtreePath,
+                    @Param("newSubtreePath") String newSubtreePath,
+                    @Param("depthDelta") int depthDelta);
+
+    /**
+     * Materialized path of a task.
+     */
+    @Query("SELECT t.path FROM Task t WHERE t.code = :code")
+    Optional<String> findPathByCode(@Param("code") String code);
+
+    /**
+     * Unlinks every descendant from its parent, so that the whole subtree can then
+     * be removed by a single DELETE regardless of the order rows are deleted in.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.parent = NULL WHERE t.path LIKE CONCAT(:subtreePath, '%')")
+    int detachSubtree(@Param("subtreePath") String subtreePath);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.code = :code OR t.path LIKE CONCAT(:subtreePath, '%')")
+    int deleteSubtree(@Param("code") String code, @Param("subtreePath") String subtreePath);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT t FROM Task t WHERE t.parent IS NULL")
     List<Task> findRootTasks();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_VIEW + " WHERE t.parent IS NULL")
+    List<TaskView> findRootViews();
+
+    @Query(SELECT_VIEW + " WHERE t.parent IS NULL AND t.code IN :codes ORDER BY t.id")
+    List<TaskView> findRootViewsByCodeIn(@Param("codes") Collection<String> codes);
+
+    long countByCodeIn(Collection<String> codes);
+
+    long countByParentCode(String parentCode);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(BULK_UPDATE_SET + "WHERE t.code IN :codes" + BULK_UPDATE_CHANGES)
+    int bulkUpdateByCodes(@Param("codes") Collection<String> codes,
+                          @Param("status") TaskStatus status,
+                          @Param("assigneeId") Long assigneeId,
+                          @Param("priority") String priority,
+                          @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(BULK_UPDATE_SET + "WHERE t.parentCode = :parentCode" + BULK_UPDATE_CHANGES)
+    int bulkUpdateByParentCode(@Param("parentCode") String parentCode,
+                               @Param("status") TaskStatus status,
+                               @Param("assigneeId") Long assigneeId,
+                               @Param("priority") String priority,
+                               @Param("now") LocalDateTime now);
+
+    /**
+     * Every task, parents before their children, read through a JDBC cursor that
+     * fetches {@code 500} rows at a time. Must be consumed and closed inside a
+     * transaction; entities are read-only and should be detached once written.
+     * They bypass the second-level cache, which a full scan would only flush.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT t FROM Task t ORDER BY t.depth, t.id")
+    Stream<Task> streamAllByDepth();
+
+    /**
+     * Code of every task, read through a JDBC cursor; must be consumed and closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.code FROM Task t")
+    Stream<String> streamAllCodes();
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.test.test.service;
+
+import com.test.test.dto.CodeBlockSource;
+import com.test.test.repository.CodeSequenceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Leases blocks of the task code sequence from the database so that several
+ * application nodes can issue codes without coordinating on every call.
+ */
+@Service
+@Slf4j
+public class CodeBlockLeaseService implements CodeBlockSource {
+
+    static final String TASK_CODE_SEQUENCE = "task_code";
+    private static final int MAX_LEASE_ATTEMPTS = 3;
+
+    private final CodeSequenceRepository codeSequenceRepository;
+    private final TransactionTemplate leaseTransaction;
+
+    public CodeBlockLeaseService(CodeSequenceRepository codeSequenceRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.codeSequenceRepository = codeSequenceRepository;
+        // A lease commits on its own so the row lock is released immediately and
+        // the block is not handed out again if the caller's transaction rolls back
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public long reserveBlock(int blockSize) {
+        for (int attempt = 1; attempt <= MAX_LEASE_ATTEMPTS; attempt++) {
+            try {
+                Long start = leaseTransaction.execute(status -> advance(blockSize));
+                log.debug("Leased code block [{}, {})", start, start + blockSize);
+                return start;
+            } catch (DataIntegrityViolationException ex) {
+                // Another node created the sequence row concurrently; the next attempt advances it
+                log.debug("Concurrent initialization of code sequence, retrying lease");
+            }
+        }
+        throw new IllegalStateException("Unable to lease code block after " + MAX_LEASE_ATTEMPTS + " attempts");
+    }
+
+    @Override
+    public void reservePast(long value) {
+        for (int attempt = 1; attempt <= MAX_LEASE_ATTEMPTS; attempt++) {
+            try {
+                leaseTransaction.executeWithoutResult(status -> raise(value + 1));
+                log.debug("Code sequence moved past {}", value);
+                return;
+            } catch (DataIntegrityViolationException ex) {
+                log.debug("Concurrent initialization of code sequence, retrying");
+            }
+        }
+        throw new IllegalStateException("Unable to move code sequence after " + MAX_LEASE_ATTEMPTS + " attempts");
+    }
+
+    private void raise(long nextValue) {
+        if (codeSequenceRepository.raise(TASK_CODE_SEQUENCE, nextValue) == 0
+                && codeSequenceRepository.findNextValue(TASK_CODE_SEQUENCE) == null) {
+            codeSequenceRepository.create(TASK_CODE_SEQUENCE, nextValue);
+        }
+    }
+
+    private long advance(int blockSize) {
+        // The UPDATE takes the row lock, so the value read afterwards is ours alone
+        if (codeSequenceRepository.advance(TASK_CODE_SEQUENCE, blockSize) == 0) {
+            // Plain INSERT: a concurrent creator makes it fail instead of being overwritten
+            codeSequenceRepository.create(TASK_CODE_SEQUENCE, blockSize);
+            return 0;
+        }
+        return codeSequenceRepository.findNextValue(TASK_CODE_SEQUENCE) - blockSize;
+    }
+}
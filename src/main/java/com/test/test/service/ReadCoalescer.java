@@ -0,0 +1,79 @@
+package com.test.test.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent reads of the same key share one load ("single flight"). The
+ * first caller runs the load; callers arriving while it is in flight wait for
+ * its result, or its exception, instead of running their own. Nothing is kept
+ * once the load completes, so the next call loads again.
+ *
+ * A caller that joins a load may get a state read just before its own request
+ * arrived, as with any cache. Reads inside a transaction are never coalesced,
+ * since they may see writes of their own transaction that a shared load would not.
+ */
+@Service
+public class ReadCoalescer {
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public <T> T coalesce(String key, Supplier<T> load) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return load.get();
+        }
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = flights.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            coalesced.increment();
+            return (T) await(inFlight);
+        }
+        try {
+            T value = load.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // Rethrow what the load threw, as the caller running it does
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Number of calls that were answered by a load already in flight
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Number of loads currently in flight
+     */
+    public int getInFlightCount() {
+        return flights.size();
+    }
+}
@@ -0,0 +1,147 @@
+package com.test.test.service;
+
+import com.test.test.dto.TaskResponseDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Root tasks held in memory in id order, so that listing them reads no rows.
+ *
+ * The index is loaded from a snapshot of the database and then kept current by
+ * the writers: each write hands over the state of the roots it touched, read in
+ * its own transaction, and the index applies it once that transaction commits.
+ * A create hands over only the new task, which it adds to its parent's entry itself.
+ * A snapshot read while any write was applied is not trusted; the index then
+ * stays unloaded and the next reader loads it again. Writes that bypass the
+ * task service are only seen after {@link #clear()}.
+ */
+@Service
+public class RootTaskIndex {
+
+    private final ConcurrentSkipListMap<Long, TaskResponseDTO> rootsById = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, Long> idsByCode = new ConcurrentHashMap<>();
+    private final AtomicLong changes = new AtomicLong();
+    private volatile boolean loaded;
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Number of changes applied so far; read it before reading the snapshot passed to {@link #load}.
+     */
+    public long changeCount() {
+        return changes.get();
+    }
+
+    public synchronized void load(List<TaskResponseDTO> roots, long changeCount) {
+        rootsById.clear();
+        idsByCode.clear();
+        roots.forEach(this::put);
+        loaded = changes.get() == changeCount;
+    }
+
+    public synchronized void clear() {
+        changes.incrementAndGet();
+        loaded = false;
+        rootsById.clear();
+        idsByCode.clear();
+    }
+
+    public boolean contains(String code) {
+        return idsByCode.containsKey(code);
+    }
+
+    public List<TaskResponseDTO> getAll() {
+        return new ArrayList<>(rootsById.values());
+    }
+
+    public Page<TaskResponseDTO> getPage(Pageable pageable) {
+        List<TaskResponseDTO> content = rootsById.values().stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        return new PageImpl<>(content, pageable, idsByCode.size());
+    }
+
+    /**
+     * Replaces the entries of the given codes by the roots among them; codes
+     * without a root are removed. Applied after commit when a transaction is active.
+     */
+    public void update(Collection<String> codes, List<TaskResponseDTO> roots) {
+        if (!codes.isEmpty()) {
+            afterCommit(() -> apply(codes, roots));
+        }
+    }
+
+    /**
+     * Adds a created task without reading anything: a root gets its own entry, and the
+     * code of a child is appended to the child codes of its parent's entry, if indexed.
+     * Applied after commit when a transaction is active.
+     */
+    public void add(TaskResponseDTO created) {
+        afterCommit(() -> applyAdd(created));
+    }
+
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private synchronized void apply(Collection<String> codes, List<TaskResponseDTO> roots) {
+        changes.incrementAndGet();
+        if (!loaded) {
+            return;
+        }
+        for (String code : codes) {
+            Long id = idsByCode.remove(code);
+            if (id != null) {
+                rootsById.remove(id);
+            }
+        }
+        roots.forEach(this::put);
+    }
+
+    private synchronized void applyAdd(TaskResponseDTO created) {
+        changes.incrementAndGet();
+        if (!loaded) {
+            return;
+        }
+        if (created.getParentCode() == null) {
+            put(created);
+            return;
+        }
+        Long parentId = idsByCode.get(created.getParentCode());
+        if (parentId != null) {
+            // Entries are shared with readers, so the parent's is replaced rather than changed
+            TaskResponseDTO parent = rootsById.get(parentId);
+            List<String> childCodes = new ArrayList<>(parent.getChildCodes());
+            childCodes.add(created.getCode());
+            rootsById.put(parentId, parent.toBuilder().childCodes(childCodes).build());
+        }
+    }
+
+    private void put(TaskResponseDTO root) {
+        rootsById.put(root.getId(), root);
+        idsByCode.put(root.getCode(), root.getId());
+    }
+}
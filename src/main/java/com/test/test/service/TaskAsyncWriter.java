@@ -0,0 +1,125 @@
+package com.test.test.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.test.dto.TaskRequestDTO;
+import com.test.test.dto.TaskWriteStatusDTO;
+import com.test.test.dto.TaskWriteStatusDTO.State;
+import com.test.test.dto.UniqueCodeGenerator;
+import com.test.test.exeception.ResourceNotFoundException;
+import com.test.test.exeception.ValidationException;
+import com.test.test.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Accepts task creates that are written later, by the writer of
+ * {@link TaskCreateBatcher}. The code is issued up front, so the caller can be
+ * answered at once and look the write up by it; the task itself can only be read
+ * once the write is reported as created.
+ *
+ * Writes in flight are tracked until they complete, and are as many as the write
+ * queue holds at most. Outcomes are then kept for {@code status-ttl}, up to
+ * {@code status-max-size} of them; after that a code is reported as created
+ * only if its task exists.
+ */
+@Service
+@Slf4j
+public class TaskAsyncWriter {
+
+    private final TaskCreateBatcher taskCreateBatcher;
+    private final UniqueCodeGenerator codeGenerator;
+    private final TaskRepository taskRepository;
+    private final Map<String, Outcome> pending = new ConcurrentHashMap<>();
+    private final Cache<String, Outcome> completed;
+
+    private record Outcome(State state, LocalDateTime acceptedAt, LocalDateTime completedAt, String error) {
+    }
+
+    public TaskAsyncWriter(TaskCreateBatcher taskCreateBatcher,
+                           UniqueCodeGenerator codeGenerator,
+                           TaskRepository taskRepository,
+                           @Value("${task.write.async.status-ttl:10m}") Duration statusTtl,
+                           @Value("${task.write.async.status-max-size:100000}") long statusMaxSize) {
+        this.taskCreateBatcher = taskCreateBatcher;
+        this.codeGenerator = codeGenerator;
+        this.taskRepository = taskRepository;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(statusMaxSize)
+                .expireAfterWrite(statusTtl)
+                .build();
+    }
+
+    /**
+     * Issues a code and queues the create under it. Nothing about the request is
+     * checked beyond its fields; a missing parent, say, fails the write later.
+     *
+     * @throws com.test.test.exeception.WriteQueueFullException when the write queue is full
+     */
+    public TaskWriteStatusDTO accept(TaskRequestDTO request) {
+        String code = codeGenerator.generateCode();
+        Outcome accepted = new Outcome(State.PENDING, LocalDateTime.now(), null, null);
+        // Tracked before it is queued, as the writer may complete it right away
+        pending.put(code, accepted);
+        try {
+            taskCreateBatcher.submit(code, request)
+                    .whenComplete((created, failure) -> complete(code, accepted, failure));
+        } catch (RuntimeException e) {
+            pending.remove(code);
+            throw e;
+        }
+        log.debug("Accepted task write {}", code);
+        return toDTO(code, accepted);
+    }
+
+    public TaskWriteStatusDTO getStatus(String code) {
+        Outcome outcome = pending.get(code);
+        if (outcome == null) {
+            outcome = completed.getIfPresent(code);
+        }
+        if (outcome != null) {
+            return toDTO(code, outcome);
+        }
+        if (taskRepository.existsByCode(code)) {
+            return toDTO(code, new Outcome(State.CREATED, null, null, null));
+        }
+        throw new ResourceNotFoundException("No task write accepted with code: " + code);
+    }
+
+    /**
+     * Number of accepted writes not yet completed
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void complete(String code, Outcome accepted, Throwable failure) {
+        String error = null;
+        if (failure instanceof ValidationException || failure instanceof ResourceNotFoundException) {
+            error = failure.getMessage();
+        } else if (failure != null) {
+            log.error("Accepted task write {} failed", code, failure);
+            error = "An unexpected error occurred";
+        }
+        State state = failure == null ? State.CREATED : State.FAILED;
+        // Recorded as completed before it stops being pending, so a lookup never misses it
+        completed.put(code, new Outcome(state, accepted.acceptedAt(), LocalDateTime.now(), error));
+        pending.remove(code);
+    }
+
+    private static TaskWriteStatusDTO toDTO(String code, Outcome outcome) {
+        return TaskWriteStatusDTO.builder()
+                .code(code)
+                .state(outcome.state())
+                .acceptedAt(outcome.acceptedAt())
+                .completedAt(outcome.completedAt())
+                .error(outcome.error())
+                .build();
+    }
+}
@@ -0,0 +1,188 @@
+package com.test.test.service;
+
+import com.test.test.dto.UniqueCodeGenerator;
+import com.test.test.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter over the codes of all stored tasks, answering "definitely not
+ * stored" without touching the database. Loaded from the tasks table at startup;
+ * every task persisted afterwards is added by {@link TaskCodeListener}. Deleted
+ * codes cannot be removed and stay possible matches, which only costs a lookup.
+ *
+ * Until loaded, or after {@link #reset()}, every code is a possible match.
+ * Sized for {@code task.code-filter.expected-codes}; beyond that the false
+ * positive rate grows gradually until the next load.
+ *
+ * The filter only sees tasks persisted by this process, so a task written by any
+ * other writer, such as another node or the H2 console, would be answered 404. It
+ * is therefore off unless {@code task.code-filter.enabled} is set, for deployments
+ * where this process is the only writer, and stays off with the LEASED_BLOCKS code
+ * strategy, which is meant for several nodes sharing the database. When off, every
+ * code is a possible match.
+ */
+@Service
+@Slf4j
+public class TaskCodeFilter {
+
+    private final TaskRepository taskRepository;
+    private final long expectedCodes;
+    private final int bitCount;
+    private final int hashCount;
+    private final AtomicLongArray bits;
+    private final AtomicLong codeCount = new AtomicLong();
+    private final LongAdder rejected = new LongAdder();
+    private final boolean enabled;
+    private volatile boolean loaded;
+
+    /**
+     * An enabled filter, for a process that is the only writer.
+     */
+    public TaskCodeFilter(TaskRepository taskRepository, long expectedCodes, double falsePositiveRate) {
+        this(taskRepository, expectedCodes, falsePositiveRate, true, UniqueCodeGenerator.Strategy.RANDOM);
+    }
+
+    @Autowired
+    public TaskCodeFilter(TaskRepository taskRepository,
+                          @Value("${task.code-filter.expected-codes:1000000}") long expectedCodes,
+                          @Value("${task.code-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                          @Value("${task.code-filter.enabled:false}") boolean enabled,
+                          @Value("${task.code.strategy:RANDOM}") UniqueCodeGenerator.Strategy codeStrategy) {
+        this.taskRepository = taskRepository;
+        // Tasks written elsewhere are never seen; a miss would be a false negative
+        this.enabled = enabled && codeStrategy != UniqueCodeGenerator.Strategy.LEASED_BLOCKS;
+        this.expectedCodes = expectedCodes;
+        // Optimal sizes for the expected number of codes: m = -n ln p / (ln 2)^2, k = m / n ln 2
+        long optimalBits = (long) Math.ceil(-expectedCodes * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.min(Math.max(optimalBits, Long.SIZE), Integer.MAX_VALUE - Long.SIZE);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedCodes * Math.log(2)));
+        // A disabled filter never sets a bit
+        this.bits = new AtomicLongArray(this.enabled ? (bitCount + Long.SIZE - 1) / Long.SIZE : 0);
+    }
+
+    /**
+     * Adds the code of every stored task. Codes persisted meanwhile are added by the
+     * listener, so the filter is complete once the scan ends.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        if (!enabled) {
+            log.info("Task code filter disabled: tasks may be stored by other writers");
+            return;
+        }
+        try (Stream<String> codes = taskRepository.streamAllCodes()) {
+            load(codes);
+        }
+        log.info("Task code filter loaded with {} code(s): {} bits, {} hash function(s)",
+                codeCount.get(), bitCount, hashCount);
+    }
+
+    public void load(Stream<String> codes) {
+        if (!enabled) {
+            return;
+        }
+        codes.forEach(this::add);
+        loaded = true;
+    }
+
+    /**
+     * Forgets every code; all codes are possible matches until the next {@link #load()}.
+     */
+    public void reset() {
+        loaded = false;
+        for (int i = 0; i < bits.length(); i++) {
+            bits.set(i, 0);
+        }
+        codeCount.set(0);
+    }
+
+    public void add(String code) {
+        if (!enabled) {
+            return;
+        }
+        long hash = hash(code);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            int bit = bit(h1, h2, i);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long current;
+            while (((current = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                // Retry: another bit of the same word was set concurrently
+            }
+        }
+        if (codeCount.incrementAndGet() == expectedCodes + 1) {
+            log.warn("Task code filter holds more than the {} expected codes; its false positive rate grows",
+                    expectedCodes);
+        }
+    }
+
+    /**
+     * False only if no task with the code was stored since the filter was loaded.
+     */
+    public boolean mightContain(String code) {
+        if (!loaded) {
+            return true;
+        }
+        long hash = hash(code);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            int bit = bit(h1, h2, i);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                rejected.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Number of lookups answered as definitely not stored
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * i-th bit of a code, from the two halves of its hash (Kirsch-Mitzenmacher double hashing)
+     */
+    private int bit(int h1, int h2, int i) {
+        return ((h1 + i * h2) & Integer.MAX_VALUE) % bitCount;
+    }
+
+    /**
+     * 64-bit FNV-1a over the characters, finished with the MurmurHash3 mixer
+     * so that both halves are usable as independent hashes.
+     */
+    private static long hash(String code) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < code.length(); i++) {
+            hash ^= code.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,26 @@
+package com.test.test.service;
+
+import com.test.test.entity.Task;
+import jakarta.persistence.PrePersist;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA entity listener adding the code of every persisted task to the {@link TaskCodeFilter},
+ * whichever code path persists it. Created by Hibernate through Spring; the filter is looked
+ * up on first use, as it depends on the repository and so on the entity manager factory.
+ *
+ * Codes are added on persist rather than after the insert, which may wait for the commit,
+ * so that reads later in the same transaction pass the filter. A code whose insert then
+ * fails stays in the filter as a false positive.
+ */
+@RequiredArgsConstructor
+public class TaskCodeListener {
+
+    private final ObjectProvider<TaskCodeFilter> taskCodeFilter;
+
+    @PrePersist
+    public void onPersist(Task task) {
+        taskCodeFilter.getObject().add(task.getCode());
+    }
+}
@@ -0,0 +1,252 @@
+package com.test.test.service;
+
+import com.test.test.dto.TaskRequestDTO;
+import com.test.test.dto.TaskResponseDTO;
+import com.test.test.exeception.ResourceNotFoundException;
+import com.test.test.exeception.ValidationException;
+import com.test.test.exeception.WriteQueueFullException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Group commit for single task creates. When enabled, creates are queued and a
+ * writer thread commits them together, up to {@code max-batch-size} per
+ * transaction; once the first create of a batch is taken, the writer waits at most
+ * {@code linger} for more. Each caller gets its own response or error, and only
+ * after its batch has committed. When disabled, every create runs in its own
+ * transaction on the caller's thread.
+ *
+ * A create that fails validation gets its error and leaves the rest of its batch
+ * alone. Any other failure rolls the batch back, and its creates are then retried
+ * in a transaction each, so that only the create at fault fails.
+ *
+ * Asynchronous creates go through the same queue and writer whether group commit
+ * is enabled or not, but are never waited for: {@link #submit} hands back a future
+ * at once, or rejects the create when the queue is full.
+ */
+@Service
+@Slf4j
+public class TaskCreateBatcher {
+
+    private final TaskService taskService;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final BlockingQueue<PendingCreate> queue;
+    private final LongAdder batches = new LongAdder();
+    private volatile boolean running;
+    private Thread writer;
+
+    /** A create with a code of its own, or a null code to have one generated */
+    private record PendingCreate(String code, TaskRequestDTO request, CompletableFuture<TaskResponseDTO> result) {
+    }
+
+    public TaskCreateBatcher(TaskService taskService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${task.write.group-commit.enabled:false}") boolean enabled,
+                             @Value("${task.write.group-commit.max-batch-size:100}") int maxBatchSize,
+                             @Value("${task.write.group-commit.linger:500us}") Duration linger,
+                             @Value("${task.write.queue-capacity:10000}") int queueCapacity) {
+        this.taskService = taskService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = linger.toNanos();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("task-writer").daemon().start(this::writeBatches);
+        if (enabled) {
+            log.info("Task group commit enabled: up to {} create(s) per transaction, {} us linger",
+                    maxBatchSize, TimeUnit.NANOSECONDS.toMicros(lingerNanos));
+        }
+    }
+
+    /**
+     * Stops taking creates and commits those already queued. A create queued after
+     * the queue was drained is taken back by its caller, which checks again once
+     * it has queued.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        PendingCreate left;
+        while ((left = queue.poll()) != null) {
+            left.result().completeExceptionally(new IllegalStateException("Task writer has stopped"));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Number of transactions committed by the writer so far
+     */
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * Number of creates waiting for the writer
+     */
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Creates a task, as part of the next group commit when enabled. Blocks while
+     * the queue is full.
+     */
+    public TaskResponseDTO create(TaskRequestDTO request) {
+        if (!enabled || !running) {
+            return taskService.createTask(request);
+        }
+        PendingCreate pending = new PendingCreate(null, request, new CompletableFuture<>());
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a task create", e);
+        }
+        if (!running && queue.remove(pending)) {
+            // Queued after stop() drained the queue, where no one would complete it
+            return taskService.createTask(request);
+        }
+        try {
+            return pending.result().join();
+        } catch (CompletionException e) {
+            // Rethrow what the create threw, as a direct call would
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Queues the create of a task under a code issued beforehand, and returns at once
+     * with a future of its response. Never blocks: a full queue rejects the create.
+     */
+    public CompletableFuture<TaskResponseDTO> submit(String code, TaskRequestDTO request) {
+        if (!running) {
+            throw new IllegalStateException("Task writer has stopped");
+        }
+        PendingCreate pending = new PendingCreate(code, request, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            throw new WriteQueueFullException("Write queue is full with " + queue.size() + " creates, retry later");
+        }
+        if (!running && queue.remove(pending)) {
+            throw new IllegalStateException("Task writer has stopped");
+        }
+        return pending.result();
+    }
+
+    private void writeBatches() {
+        List<PendingCreate> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingCreate first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    // Whatever is queued already, then whatever arrives within the linger
+                    PendingCreate next = queue.poll();
+                    if (next == null) {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0 || (next = queue.poll(remaining, TimeUnit.NANOSECONDS)) == null) {
+                            break;
+                        }
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                commit(batch);
+                return;
+            } catch (RuntimeException | Error e) {
+                log.error("Task group commit failed", e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingCreate> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<TaskResponseDTO> created = new ArrayList<>(batch.size());
+        List<RuntimeException> rejected = new ArrayList<>(batch.size());
+        try {
+            transaction.executeWithoutResult(status -> {
+                created.clear();
+                rejected.clear();
+                for (PendingCreate pending : batch) {
+                    try {
+                        created.add(createTask(pending));
+                        rejected.add(null);
+                    } catch (ValidationException | ResourceNotFoundException e) {
+                        // Thrown before anything is written; the transaction stays usable
+                        created.add(null);
+                        rejected.add(e);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} task create(s) failed, creating them one by one", batch.size(), e);
+            batch.forEach(this::createAlone);
+            return;
+        }
+        batches.increment();
+        for (int i = 0; i < batch.size(); i++) {
+            if (rejected.get(i) != null) {
+                batch.get(i).result().completeExceptionally(rejected.get(i));
+            } else {
+                batch.get(i).result().complete(created.get(i));
+            }
+        }
+    }
+
+    private void createAlone(PendingCreate pending) {
+        try {
+            pending.result().complete(createTask(pending));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    private TaskResponseDTO createTask(PendingCreate pending) {
+        return pending.code() != null
+                ? taskService.createTask(pending.code(), pending.request())
+                : taskService.createTask(pending.request());
+    }
+}
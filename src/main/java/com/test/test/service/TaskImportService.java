@@ -0,0 +1,406 @@
+package com.test.test.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.test.test.dto.TaskImportDTO;
+import com.test.test.dto.TaskImportRecord;
+import com.test.test.dto.UniqueCodeGenerator;
+import com.test.test.entity.Task;
+import com.test.test.entity.TaskImport;
+import com.test.test.entity.TaskImportFormat;
+import com.test.test.entity.TaskImportStatus;
+import com.test.test.exeception.ImportConflictException;
+import com.test.test.exeception.ResourceNotFoundException;
+import com.test.test.exeception.ValidationException;
+import com.test.test.repository.TaskImportRepository;
+import com.test.test.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * Imports tasks from NDJSON or CSV files of any size. Records are parsed one at a
+ * time and written in fixed-size chunks, each committed in its own transaction
+ * together with the import's progress; memory use depends on the chunk size only.
+ * A failed import can be resumed and continues after the last committed chunk,
+ * once it has checked that the file starts with the records already committed.
+ * An import left running by a crash can be resumed once its lease expires.
+ */
+@Service
+@Slf4j
+public class TaskImportService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final long FINGERPRINT_PRIME = 0x100000001b3L;
+
+    private final TaskImportRepository taskImportRepository;
+    private final TaskRepository taskRepository;
+    private final UniqueCodeGenerator codeGenerator;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transaction;
+    private final TaskResponseCache taskCache;
+    private final RootTaskIndex rootTaskIndex;
+    private final int chunkSize;
+    private final Duration lease;
+    private final Path importDirectory;
+
+    public TaskImportService(TaskImportRepository taskImportRepository,
+                             TaskRepository taskRepository,
+                             UniqueCodeGenerator codeGenerator,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             TaskResponseCache taskCache,
+                             RootTaskIndex rootTaskIndex,
+                             @Value("${task.import.chunk-size:1000}") int chunkSize,
+                             @Value("${task.import.lease:5m}") Duration lease,
+                             @Value("${task.import.directory:}") String importDirectory) {
+        this.taskImportRepository = taskImportRepository;
+        this.taskRepository = taskRepository;
+        this.codeGenerator = codeGenerator;
+        this.objectMapper = objectMapper;
+        this.csvMapper = CsvMapper.builder()
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .findAndAddModules()
+                .build();
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.taskCache = taskCache;
+        this.rootTaskIndex = rootTaskIndex;
+        this.chunkSize = chunkSize;
+        this.lease = lease;
+        // Local file imports are disabled unless a directory is configured
+        this.importDirectory = importDirectory.isEmpty() ? null
+                : Path.of(importDirectory).toAbsolutePath().normalize();
+    }
+
+
+    /**
+     * Imports an uploaded file. A failed import is reported in the returned status
+     * and can be resumed by uploading the same file again.
+     */
+    public TaskImportDTO importStream(String fileName, InputStream in, TaskImportFormat format) {
+        TaskImport job = start(fileName != null ? fileName : "upload", null, formatOf(fileName, format));
+        return run(job, in);
+    }
+
+
+    /**
+     * Imports a file from the configured import directory on the server.
+     */
+    public TaskImportDTO importFile(String path, TaskImportFormat format) throws IOException {
+        Path file = resolveLocalFile(path);
+        TaskImport job = start(path, file.toString(), formatOf(path, format));
+        try (InputStream in = Files.newInputStream(file)) {
+            return run(job, in);
+        }
+    }
+
+
+    public TaskImportDTO resumeStream(Long id, InputStream in) {
+        return run(resumable(id), in);
+    }
+
+
+    /**
+     * Resumes an import of a local file, reading the file again from its original path.
+     */
+    public TaskImportDTO resumeFile(Long id) throws IOException {
+        TaskImport job = resumable(id);
+        if (job.getLocalPath() == null) {
+            throw new ValidationException("Import " + id + " was uploaded; upload the same file again to resume it");
+        }
+        try (InputStream in = Files.newInputStream(resolveLocalFile(job.getLocalPath()))) {
+            return run(job, in);
+        }
+    }
+
+
+    public TaskImportDTO getImport(Long id) {
+        return taskImportRepository.findById(id)
+                .map(this::convertToDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Import not found with id: " + id));
+    }
+
+
+    private TaskImport start(String source, String localPath, TaskImportFormat format) {
+        TaskImport job = TaskImport.builder()
+                .source(source)
+                .localPath(localPath)
+                .format(format)
+                .status(TaskImportStatus.RUNNING)
+                .chunkSize(chunkSize)
+                .build();
+        return transaction.execute(status -> taskImportRepository.save(job));
+    }
+
+
+    /**
+     * Claims a failed import for a resume, or a running one that has not committed a
+     * chunk within the lease, as after a crash. The claim is a conditional update, so
+     * an import that is still running cannot be resumed a second time alongside it.
+     */
+    private TaskImport resumable(Long id) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transaction.execute(tx -> taskImportRepository.claim(id, now, now.minus(lease)));
+        TaskImport job = taskImportRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Import not found with id: " + id));
+        if (claimed == null || claimed == 0) {
+            throw new ValidationException("Import " + id + " is " + job.getStatus().name().toLowerCase()
+                    + "; only a failed import, or one that stopped committing for " + lease + ", can be resumed");
+        }
+        return job;
+    }
+
+
+    private TaskImportDTO run(TaskImport job, InputStream in) {
+        long committed = job.getCommittedRecords();
+        log.info("Import {} of {} started after record {}", job.getId(), job.getSource(), committed);
+
+        String mismatch = null;
+        try (MappingIterator<TaskImportRecord> records = openRecords(job.getFormat(), in)) {
+            mismatch = skipCommitted(job, records);
+            long fingerprint = job.getCommittedFingerprint();
+            List<TaskImportRecord> chunk = new ArrayList<>(job.getChunkSize());
+            while (mismatch == null && records.hasNextValue()) {
+                TaskImportRecord record = records.nextValue();
+                chunk.add(record);
+                fingerprint = fingerprint(fingerprint, record);
+                if (chunk.size() == job.getChunkSize()) {
+                    committed = commitChunk(job, chunk, committed, fingerprint);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                committed = commitChunk(job, chunk, committed, fingerprint);
+            }
+        } catch (ImportConflictException e) {
+            // Another run owns the import now and reports its status
+            log.error("Import {} stopped after record {}: {}", job.getId(), committed, e.getMessage());
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            // The failed chunk was rolled back; a resume starts again at its first record
+            log.error("Import {} failed after record {}: {}", job.getId(), committed, e.getMessage());
+            return convertToDTO(updateStatus(job, TaskImportStatus.FAILED, e.getMessage()));
+        }
+
+        if (mismatch != null) {
+            // Nothing was written; the import can still be resumed with the right file
+            log.warn("Import {} not resumed: {}", job.getId(), mismatch);
+            updateStatus(job, TaskImportStatus.FAILED, mismatch);
+            throw new ValidationException(mismatch);
+        }
+        log.info("Import {} completed with {} record(s)", job.getId(), committed);
+        return convertToDTO(updateStatus(job, TaskImportStatus.COMPLETED, null));
+    }
+
+
+    /**
+     * Reads past the records that earlier runs committed, which are not written again,
+     * and checks that they are the same records. Returns why the file does not match
+     * the import, or null.
+     */
+    private String skipCommitted(TaskImport job, MappingIterator<TaskImportRecord> records) throws IOException {
+        long fingerprint = 0;
+        for (long skipped = 0; skipped < job.getCommittedRecords(); skipped++) {
+            if (!records.hasNextValue()) {
+                return "Import " + job.getId() + " committed " + job.getCommittedRecords()
+                        + " record(s), but the file has only " + skipped + "; resume it with the same file";
+            }
+            fingerprint = fingerprint(fingerprint, records.nextValue());
+        }
+        if (fingerprint != job.getCommittedFingerprint()) {
+            return "The first " + job.getCommittedRecords() + " record(s) of the file differ from those import "
+                    + job.getId() + " committed; resume it with the same file";
+        }
+        return null;
+    }
+
+
+    /**
+     * Folds the CRC-32 of a record's JSON form into a running FNV-style hash
+     */
+    private long fingerprint(long fingerprint, TaskImportRecord record) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(objectMapper.writeValueAsBytes(record));
+        return (fingerprint ^ crc.getValue()) * FINGERPRINT_PRIME;
+    }
+
+
+    private MappingIterator<TaskImportRecord> openRecords(TaskImportFormat format, InputStream in) throws IOException {
+        if (format == TaskImportFormat.CSV) {
+            return csvMapper.readerFor(TaskImportRecord.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(in);
+        }
+        return objectMapper.readerFor(TaskImportRecord.class).readValues(in);
+    }
+
+
+    /**
+     * Writes one chunk and advances the import's progress in the same transaction.
+     */
+    private long commitChunk(TaskImport job, List<TaskImportRecord> chunk, long committed, long fingerprint) {
+        transaction.executeWithoutResult(status -> {
+            writeChunk(chunk, committed);
+            if (taskImportRepository.advance(job.getId(), committed, chunk.size(), fingerprint,
+                    LocalDateTime.now()) == 0) {
+                // Rolls the chunk back as well
+                throw new ImportConflictException("Import " + job.getId() + " was taken over by another run after record "
+                        + committed + "; check its progress before resuming it");
+            }
+        });
+        // Imports are rare: the next read loads the root task index again
+        rootTaskIndex.clear();
+        long total = committed + chunk.size();
+        log.info("Import {}: {} record(s) committed", job.getId(), total);
+        return total;
+    }
+
+
+    private void writeChunk(List<TaskImportRecord> chunk, long committed) {
+        // Parents from earlier chunks or already in the database, loaded with one query
+        Set<String> parentCodes = chunk.stream()
+                .map(TaskImportRecord::getParentCode)
+                .filter(parentCode -> parentCode != null && !parentCode.isEmpty())
+                .collect(Collectors.toSet());
+        Map<String, Task> tasksByCode = parentCodes.isEmpty() ? new HashMap<>()
+                : taskRepository.findByCodeIn(parentCodes).stream()
+                        .collect(Collectors.toMap(Task::getCode, Function.identity()));
+
+        // Codes from the file are never generated for a record of this chunk or later;
+        // under the sequence strategies this moves the counter past them
+        codeGenerator.registerCodes(chunk.stream().map(TaskImportRecord::getCode).toList());
+
+        long recordNumber = committed;
+        for (TaskImportRecord record : chunk) {
+            recordNumber++;
+            Set<ConstraintViolation<TaskImportRecord>> violations = validator.validate(record);
+            if (!violations.isEmpty()) {
+                throw new ValidationException("Record " + recordNumber + ": " + violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            }
+
+            String code = record.getCode() != null && !record.getCode().isEmpty()
+                    ? record.getCode() : codeGenerator.generateCode();
+            if (!codeGenerator.validateCodeFormat(code)) {
+                throw new ValidationException("Record " + recordNumber + ": Invalid task code: " + code);
+            }
+
+            Task parent = null;
+            if (record.getParentCode() != null && !record.getParentCode().isEmpty()) {
+                parent = tasksByCode.get(record.getParentCode());
+                if (parent == null) {
+                    throw new ResourceNotFoundException(
+                            "Record " + recordNumber + ": Parent task not found with code: " + record.getParentCode()
+                    );
+                }
+                if (parent.getHierarchyLevel() >= Task.MAX_HIERARCHY_LEVEL) {
+                    throw new ValidationException("Record " + recordNumber + ": Maximum hierarchy level ("
+                            + Task.MAX_HIERARCHY_LEVEL + ") reached");
+                }
+            }
+
+            Task task = Task.builder()
+                    .code(code)
+                    .title(record.getTitle())
+                    .description(record.getDescription())
+                    .status(record.getStatus())
+                    .assignedDate(record.getAssignedDate())
+                    .dueDate(record.getDueDate())
+                    .createdId(record.getCreatorId())
+                    .assignedId(record.getAssigneeId())
+                    .priority(record.getPriority())
+                    .tags(record.getTags())
+                    .build();
+            task.setParent(parent);
+            taskRepository.save(task);
+            tasksByCode.put(code, task);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        // Parents that existed before the chunk gain child codes
+        taskCache.evictAll(parentCodes);
+    }
+
+
+    private TaskImport updateStatus(TaskImport job, TaskImportStatus status, String error) {
+        return transaction.execute(tx -> {
+            TaskImport current = taskImportRepository.findById(job.getId()).orElseThrow();
+            current.setStatus(status);
+            current.setLastError(error != null && error.length() > MAX_ERROR_LENGTH
+                    ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            return taskImportRepository.save(current);
+        });
+    }
+
+
+    private Path resolveLocalFile(String path) {
+        if (importDirectory == null) {
+            throw new ValidationException("Local file imports are disabled; set task.import.directory to enable them");
+        }
+        Path file = importDirectory.resolve(path).toAbsolutePath().normalize();
+        if (!file.startsWith(importDirectory)) {
+            throw new ValidationException("Import path must be inside the import directory");
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Import file not found: " + path);
+        }
+        return file;
+    }
+
+
+    private static TaskImportFormat formatOf(String fileName, TaskImportFormat format) {
+        if (format != null) {
+            return format;
+        }
+        return fileName != null && fileName.toLowerCase().endsWith(".csv")
+                ? TaskImportFormat.CSV : TaskImportFormat.NDJSON;
+    }
+
+
+    private TaskImportDTO convertToDTO(TaskImport job) {
+        return TaskImportDTO.builder()
+                .id(job.getId())
+                .source(job.getSource())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .chunkSize(job.getChunkSize())
+                .committedRecords(job.getCommittedRecords())
+                .lastError(job.getLastError())
+                .createdAt(job.getCreateAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
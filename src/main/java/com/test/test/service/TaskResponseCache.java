@@ -0,0 +1,111 @@
+package com.test.test.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.test.test.dto.TaskCacheStatsDTO;
+import com.test.test.dto.TaskResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of task responses by code, bounded in size with Caffeine's
+ * W-TinyLFU eviction and expiring entries after a fixed time to live.
+ *
+ * Writers evict the codes whose response they change. Inside a transaction the
+ * codes are evicted again after commit, so that a reader that loaded the old row
+ * while the write was in flight cannot leave it cached; the time to live bounds
+ * the staleness of anything a writer could not name. Cached responses are
+ * shared between callers and must not be modified.
+ */
+@Service
+public class TaskResponseCache {
+
+    private final Cache<String, TaskResponseDTO> cache;
+    private final long maxSize;
+    private final Duration ttl;
+
+    public TaskResponseCache(@Value("${task.cache.max-size:10000}") long maxSize,
+                             @Value("${task.cache.ttl:10m}") Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Cached response for the code, loading it on a miss. Concurrent misses for
+     * the same code share one load; a load that throws caches nothing.
+     */
+    public TaskResponseDTO get(String code, Function<String, TaskResponseDTO> loader) {
+        return cache.get(code, loader);
+    }
+
+    public void evict(String... codes) {
+        evictAll(Arrays.stream(codes).filter(Objects::nonNull).toList());
+    }
+
+    public void evictAll(Collection<String> codes) {
+        if (!codes.isEmpty()) {
+            List<String> evicted = List.copyOf(codes);
+            evictNowAndAfterCommit(() -> evicted);
+        }
+    }
+
+    /**
+     * Evicts the cached children of a parent, found by the parent code of the cached responses.
+     */
+    public void evictChildrenOf(String parentCode) {
+        evictNowAndAfterCommit(() -> cachedCodes(response -> parentCode.equals(response.getParentCode())));
+    }
+
+    private List<String> cachedCodes(Predicate<TaskResponseDTO> filter) {
+        return cache.asMap().values().stream()
+                .filter(filter)
+                .map(TaskResponseDTO::getCode)
+                .toList();
+    }
+
+    private void evictNowAndAfterCommit(Supplier<Collection<String>> codes) {
+        cache.invalidateAll(codes.get());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll(codes.get());
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    public TaskCacheStatsDTO stats() {
+        CacheStats stats = cache.stats();
+        return TaskCacheStatsDTO.builder()
+                .size(cache.estimatedSize())
+                .maxSize(maxSize)
+                .ttlSeconds(ttl.toSeconds())
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictions(stats.evictionCount())
+                .build();
+    }
+}
@@ -1,10 +1,19 @@
 package com.test.test.service;
 
+import com.test.test.dto.TaskBulkRequestDTO;
+import com.test.test.dto.TaskBulkResponseDTO;
+import com.test.test.dto.TaskBulkUpdateDTO;
+import com.test.test.dto.TaskBulkUpdateResultDTO;
+import com.test.test.dto.TaskPatchDTO;
 import com.test.test.dto.TaskRequestDTO;
 import com.test.test.dto.TaskResponseDTO;
+import com.test.test.dto.TaskSliceDTO;
+import com.test.test.dto.TaskTreeDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -13,15 +22,50 @@ import java.util.List;
 public interface TaskService {
 
     TaskResponseDTO createTask(TaskRequestDTO requestDTO);
+
+    /**
+     * Creates a task under a code issued beforehand by the code generator
+     */
+    TaskResponseDTO createTask(String code, TaskRequestDTO requestDTO);
+
+    TaskBulkResponseDTO createTasks(TaskBulkRequestDTO requestDTO);
+
     TaskResponseDTO getTaskByCode(String code);
 
+    /**
+     * Current version of a task, as sent in its ETag
+     */
+    long getTaskVersion(String code);
+
     Page<TaskResponseDTO> getAllTasks(Pageable pageable);
 
+    TaskSliceDTO getTasksAfter(String cursor, int size, String sortBy, String sortDir);
+
     TaskResponseDTO updateTask(String code, TaskRequestDTO requestDTO);
 
+    /**
+     * Updates the task only if it is still at the expected version; null updates any version
+     */
+    TaskResponseDTO updateTask(String code, TaskRequestDTO requestDTO, Long expectedVersion);
+
+    /**
+     * Changes the fields present in the patch only, if the task is still at the expected version
+     */
+    TaskResponseDTO patchTask(String code, TaskPatchDTO patchDTO, Long expectedVersion);
+
+    TaskBulkUpdateResultDTO updateTasks(TaskBulkUpdateDTO updateDTO);
+
     void deleteTask(String code);
 
+    void deleteSubtree(String code);
+
     List<TaskResponseDTO> getChildTasks(String parentCode);
 
     List<TaskResponseDTO> getRootTasks();
+
+    Page<TaskResponseDTO> getRootTasks(Pageable pageable);
+
+    TaskTreeDTO getSubtree(String code, Integer maxDepth);
+
+    long exportTasks(OutputStream out) throws IOException;
 }
\ No newline at end of file
@@ -1,22 +1,59 @@
 package com.test.test.service;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.test.dto.TaskBulkItemDTO;
+import com.test.test.dto.TaskBulkRequestDTO;
+import com.test.test.dto.TaskBulkResponseDTO;
+import com.test.test.dto.TaskBulkUpdateDTO;
+import com.test.test.dto.TaskBulkUpdateResultDTO;
+import com.test.test.dto.TaskChildCode;
+import com.test.test.dto.TaskCursor;
+import com.test.test.dto.TaskParent;
+import com.test.test.dto.TaskPatchDTO;
 import com.test.test.dto.TaskRequestDTO;
 import com.test.test.dto.TaskResponseDTO;
+import com.test.test.dto.TaskSliceDTO;
+import com.test.test.dto.TaskTreeDTO;
+import com.test.test.dto.TaskView;
 import com.test.test.dto.UniqueCodeGenerator;
 import com.test.test.entity.Task;
+import com.test.test.exeception.PreconditionFailedException;
 import com.test.test.exeception.ResourceNotFoundException;
 import com.test.test.exeception.ValidationException;
 import com.test.test.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for task management operations
@@ -29,27 +66,52 @@ public class TaskServiceImpl implements TaskService {
 
     private final TaskRepository taskRepository;
     private final UniqueCodeGenerator codeGenerator;
-
-    private static final int MAX_HIERARCHY_LEVEL = 5;
-
-
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TaskResponseCache taskCache;
+    private final RootTaskIndex rootTaskIndex;
+    private final TaskCodeFilter taskCodeFilter;
+    private final ReadCoalescer readCoalescer;
+
+    private static final int MAX_HIERARCHY_LEVEL = Task.MAX_HIERARCHY_LEVEL;
+    /** Tasks written per flush-and-clear of a bulk create; a multiple of the JDBC batch size */
+    private static final int BULK_FLUSH_SIZE = 1000;
+    /** Codes bound per IN list of a bulk update */
+    private static final int BULK_UPDATE_CODES_PER_STATEMENT = 1000;
+    /** Largest slice of cursor pagination */
+    private static final int MAX_SLICE_SIZE = 1000;
+
+
+    /**
+     * Checks the parent by its depth alone and builds the response from the new entity;
+     * the insert is left to the commit. Only a root parent is read again, for the root task index.
+     * Validation fails before anything is written, so it leaves a surrounding transaction,
+     * such as a group commit of several creates, free to commit the others.
+     */
     @Override
+    @Transactional(noRollbackFor = {ValidationException.class, ResourceNotFoundException.class})
     public TaskResponseDTO createTask(TaskRequestDTO requestDTO) {
-        log.debug("Creating new task with title: {}", requestDTO.getTitle());
-
         // Generate unique code
         String code = codeGenerator.generateCode();
         log.debug("Generated code: {}", code);
+        return createTask(code, requestDTO);
+    }
+
+
+    /**
+     * Same as {@link #createTask(TaskRequestDTO)}, for a code handed out before the create
+     * ran, such as that of an accepted asynchronous write.
+     */
+    @Override
+    @Transactional(noRollbackFor = {ValidationException.class, ResourceNotFoundException.class})
+    public TaskResponseDTO createTask(String code, TaskRequestDTO requestDTO) {
+        log.debug("Creating new task {} with title: {}", code, requestDTO.getTitle());
 
-        Task parent = null;
+        TaskParent parent = null;
         if (requestDTO.getParentCode() != null && !requestDTO.getParentCode().isEmpty()) {
-            parent = taskRepository.findByCode(requestDTO.getParentCode())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Parent task not found with code: " + requestDTO.getParentCode()
-                    ));
+            parent = findParent(requestDTO.getParentCode());
 
-            int parentLevel = parent.getHierarchyLevel();
-            if (parentLevel >= MAX_HIERARCHY_LEVEL) {
+            if (Task.hierarchyLevelOf(parent.depth()) >= MAX_HIERARCHY_LEVEL) {
                 throw new ValidationException(
                         "Cannot create task: Maximum hierarchy level (" + MAX_HIERARCHY_LEVEL + ") reached"
                 );
@@ -65,35 +127,237 @@ public class TaskServiceImpl implements TaskService {
                 .dueDate(requestDTO.getDueDate())
                 .createdId(requestDTO.getCreatorId())
                 .assignedId(requestDTO.getAssigneeId())
-                .parent(parent)
                 .priority(requestDTO.getPriority())
                 .tags(requestDTO.getTags())
                 .build();
+        if (parent != null) {
+            attachToParent(task, parent);
+        }
 
         codeGenerator.registerCode(code);
 
-        // Save task
+        // Save task; id and timestamps are assigned on persist
         Task savedTask = taskRepository.save(task);
         log.info("Task created successfully with code: {}", savedTask.getCode());
 
-        taskRepository.flush();
-        
-        // Reload the saved task with children fetched
-        Task taskWithChildren = taskRepository.findByCode(savedTask.getCode())
-                .orElse(savedTask);
-        
-        log.info("Task created successfully with code: {}", taskWithChildren.getCode());
+        // The parent's child codes change
+        taskCache.evict(requestDTO.getParentCode());
+
+        TaskResponseDTO response = convertToDTO(savedTask);
+        rootTaskIndex.add(response);
+        return response;
+    }
+
+
+    /**
+     * Looks up a new parent by reading only its id and position.
+     */
+    private TaskParent findParent(String parentCode) {
+        return taskRepository.findParentByCode(parentCode)
+                .orElseThrow(() -> new ResourceNotFoundException("Parent task not found with code: " + parentCode));
+    }
+
 
-        return convertToDTO(taskWithChildren);
+    /**
+     * Links a task below a parent found by {@link #findParent}, through a reference that is
+     * never loaded.
+     */
+    private void attachToParent(Task task, TaskParent parent) {
+        task.setParent(taskRepository.getReferenceById(parent.id()), parent.code(), parent.path(), parent.depth());
     }
 
+
+    /**
+     * Creates all tasks of the request in one transaction. Parents inside the batch
+     * are resolved by ref and every hierarchy level is checked in memory before
+     * anything is written; rows are then inserted parents first, in JDBC batches.
+     */
     @Override
-    @Transactional(readOnly = true)
+    public TaskBulkResponseDTO createTasks(TaskBulkRequestDTO requestDTO) {
+        List<TaskBulkItemDTO> items = requestDTO.getTasks();
+        log.debug("Bulk creating {} task(s)", items.size());
+
+        Map<String, Integer> indexByRef = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            String ref = items.get(i).getRef();
+            if (ref != null && indexByRef.put(ref, i) != null) {
+                throw new ValidationException("Duplicate ref in bulk request: " + ref);
+            }
+        }
+
+        // Parents outside the batch, loaded with a single query
+        Set<String> parentCodes = items.stream()
+                .map(item -> item.getTask().getParentCode())
+                .filter(parentCode -> parentCode != null && !parentCode.isEmpty())
+                .collect(Collectors.toSet());
+        Map<String, Task> existingParents = parentCodes.isEmpty() ? Collections.emptyMap()
+                : taskRepository.findByCodeIn(parentCodes).stream()
+                        .collect(Collectors.toMap(Task::getCode, Function.identity()));
+        for (String parentCode : parentCodes) {
+            if (!existingParents.containsKey(parentCode)) {
+                throw new ResourceNotFoundException("Parent task not found with code: " + parentCode);
+            }
+        }
+
+        int[] levels = resolveBulkLevels(items, indexByRef, existingParents);
+
+        // Lower levels first, so every parent is written before its children
+        List<Integer> writeOrder = new ArrayList<>(items.size());
+        for (int level = 1; level <= MAX_HIERARCHY_LEVEL; level++) {
+            for (int i = 0; i < items.size(); i++) {
+                if (levels[i] == level) {
+                    writeOrder.add(i);
+                }
+            }
+        }
+
+        List<String> codes = codeGenerator.generateCodes(items.size());
+        Task[] tasks = new Task[items.size()];
+        int written = 0;
+        for (int i : writeOrder) {
+            TaskBulkItemDTO item = items.get(i);
+            TaskRequestDTO request = item.getTask();
+            Task task = Task.builder()
+                    .code(codes.get(i))
+                    .title(request.getTitle())
+                    .description(request.getDescription())
+                    .status(request.getStatus())
+                    .assignedDate(request.getAssignedDate())
+                    .dueDate(request.getDueDate())
+                    .createdId(request.getCreatorId())
+                    .assignedId(request.getAssigneeId())
+                    .priority(request.getPriority())
+                    .tags(request.getTags())
+                    .build();
+            task.setParent(item.getParentRef() != null
+                    ? tasks[indexByRef.get(item.getParentRef())]
+                    : existingParents.get(request.getParentCode()));
+            tasks[i] = taskRepository.save(task);
+
+            if (++written % BULK_FLUSH_SIZE == 0) {
+                // Keep the persistence context small; written parents stay usable as references
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        taskCache.evictAll(parentCodes);
+
+        List<String> rootIndexCodes = new ArrayList<>(parentCodes);
+        for (int i = 0; i < items.size(); i++) {
+            if (levels[i] == 1) {
+                rootIndexCodes.add(codes.get(i));
+            }
+        }
+        updateRootTaskIndex(rootIndexCodes);
+
+        log.info("Bulk created {} task(s)", written);
+        return TaskBulkResponseDTO.builder()
+                .created(written)
+                .codes(codes)
+                .build();
+    }
+
+
+    /**
+     * Hierarchy level of every item of a bulk request, following parentRefs up to a
+     * root or an existing parent. Fails on unknown refs, cycles and levels beyond the maximum.
+     */
+    private int[] resolveBulkLevels(List<TaskBulkItemDTO> items, Map<String, Integer> indexByRef,
+                                    Map<String, Task> existingParents) {
+        int[] levels = new int[items.size()];
+        boolean[] visiting = new boolean[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            // Walk up until a task whose level is known, then assign levels on the way back down
+            List<Integer> chain = new ArrayList<>();
+            int current = i;
+            int baseLevel = 0;
+            while (current >= 0 && levels[current] == 0) {
+                if (visiting[current]) {
+                    throw new ValidationException(
+                            "Circular parentRef in bulk request at ref: " + items.get(current).getRef()
+                    );
+                }
+                visiting[current] = true;
+                chain.add(current);
+
+                TaskBulkItemDTO item = items.get(current);
+                String parentCode = item.getTask().getParentCode();
+                boolean hasParentCode = parentCode != null && !parentCode.isEmpty();
+                if (item.getParentRef() != null) {
+                    if (hasParentCode) {
+                        throw new ValidationException("Task may name either a parentRef or a parentCode, not both");
+                    }
+                    Integer parentIndex = indexByRef.get(item.getParentRef());
+                    if (parentIndex == null) {
+                        throw new ValidationException("Unknown parentRef in bulk request: " + item.getParentRef());
+                    }
+                    current = parentIndex;
+                } else {
+                    baseLevel = hasParentCode ? existingParents.get(parentCode).getHierarchyLevel() : 0;
+                    current = -1;
+                }
+            }
+            if (current >= 0) {
+                baseLevel = levels[current];
+            }
+            for (int c = chain.size() - 1; c >= 0; c--) {
+                int level = baseLevel + chain.size() - c;
+                if (level > MAX_HIERARCHY_LEVEL) {
+                    throw new ValidationException(
+                            "Cannot create task: Maximum hierarchy level (" + MAX_HIERARCHY_LEVEL + ") reached"
+                    );
+                }
+                levels[chain.get(c)] = level;
+            }
+        }
+        return levels;
+    }
+
+
+    /**
+     * Reads through the task cache; writers evict every task whose response they change.
+     * Codes an enabled code filter has never seen are rejected before the cache. Concurrent
+     * reads of a code share one read, so callers waiting for it hold no connection;
+     * only a cache miss starts a transaction, in the repository calls of the load.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public TaskResponseDTO getTaskByCode(String code) {
+        if (!taskCodeFilter.mightContain(code)) {
+            throw taskNotFound(code);
+        }
+        return readCoalescer.coalesce("task:" + code, () -> taskCache.get(code, this::loadTask));
+    }
+
+
+    /**
+     * Always read from the database, by a query of the version column alone: a cached
+     * response may trail a write it was not evicted for, and a conditional GET must
+     * never answer 304 for a task that changed.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public long getTaskVersion(String code) {
+        if (!taskCodeFilter.mightContain(code)) {
+            throw taskNotFound(code);
+        }
+        return taskRepository.findVersionByCode(code)
+                .orElseThrow(() -> taskNotFound(code));
+    }
+
+
+    private TaskResponseDTO loadTask(String code) {
         log.debug("Fetching task with code: {}", code);
-        Task task = taskRepository.findByCode(code)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with code: " + code));
-        return convertToDTO(task);
+        TaskView task = taskRepository.findViewByCode(code)
+                .orElseThrow(() -> taskNotFound(code));
+        return convertToDTOs(List.of(task)).get(0);
+    }
+
+
+    private static ResourceNotFoundException taskNotFound(String code) {
+        return ResourceNotFoundException.withoutStackTrace("Task not found with code: " + code);
     }
 
 
@@ -101,44 +365,83 @@ public class TaskServiceImpl implements TaskService {
     @Transactional(readOnly = true)
     public Page<TaskResponseDTO> getAllTasks(Pageable pageable) {
         log.debug("Fetching all tasks with pagination: {}", pageable);
-        return taskRepository.findAll(pageable)
-                .map(this::convertToDTO);
+        Page<TaskView> tasks = taskRepository.findAllViews(pageable);
+        return new PageImpl<>(convertToDTOs(tasks.getContent()), tasks.getPageable(), tasks.getTotalElements());
+    }
+
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSliceDTO getTasksAfter(String cursor, int size, String sortBy, String sortDir) {
+        log.debug("Fetching tasks after cursor: {}, size: {}", cursor, size);
+
+        if (size < 1 || size > MAX_SLICE_SIZE) {
+            throw new ValidationException("size must be between 1 and " + MAX_SLICE_SIZE);
+        }
+        TaskCursor position = cursor == null || cursor.isEmpty()
+                ? TaskCursor.first(sortBy, sortDir)
+                : TaskCursor.decode(cursor);
+
+        // One extra row tells whether another slice follows
+        List<TaskView> tasks = findViewsAfter(position, PageRequest.of(0, size + 1, position.sort()));
+        boolean hasNext = tasks.size() > size;
+        if (hasNext) {
+            tasks = tasks.subList(0, size);
+        }
+
+        return TaskSliceDTO.builder()
+                .content(convertToDTOs(tasks))
+                .size(tasks.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? position.after(tasks.get(tasks.size() - 1)).encode() : null)
+                .build();
+    }
+
+
+    private List<TaskView> findViewsAfter(TaskCursor position, Pageable limit) {
+        if (position.isFirst()) {
+            return taskRepository.findFirstViews(limit);
+        }
+        if (position.getSortKey() == TaskCursor.SortKey.CREATE_AT) {
+            return position.isAscending()
+                    ? taskRepository.findViewsCreatedAfter(position.getLastValue(), position.getLastId(), limit)
+                    : taskRepository.findViewsCreatedBefore(position.getLastValue(), position.getLastId(), limit);
+        }
+        return position.isAscending()
+                ? taskRepository.findViewsUpdatedAfter(position.getLastValue(), position.getLastId(), limit)
+                : taskRepository.findViewsUpdatedBefore(position.getLastValue(), position.getLastId(), limit);
     }
 
 
+    /**
+     * Loads the task with its children once and builds the response from it; a new
+     * parent is checked by its depth alone. The update is flushed at commit, or just
+     * before the paths of a moved subtree are rewritten.
+     */
     @Override
     public TaskResponseDTO updateTask(String code, TaskRequestDTO requestDTO) {
+        return updateTask(code, requestDTO, null);
+    }
+
+
+    /**
+     * The expected version is checked against the loaded task; a write in between is
+     * caught by the version check of the UPDATE itself, flushed before returning.
+     */
+    @Override
+    public TaskResponseDTO updateTask(String code, TaskRequestDTO requestDTO, Long expectedVersion) {
         log.debug("Updating task with code: {}", code);
 
         Task task = taskRepository.findByCode(code)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with code: " + code));
+        checkVersion(task, expectedVersion);
 
-        // Validate hierarchy if parent is being changed
-        if (requestDTO.getParentCode() != null && !requestDTO.getParentCode().isEmpty()) {
-            if (!requestDTO.getParentCode().equals(task.getCode())) {
-                Task newParent = taskRepository.findByCode(requestDTO.getParentCode())
-                        .orElseThrow(() -> new ResourceNotFoundException(
-                                "Parent task not found with code: " + requestDTO.getParentCode()
-                        ));
-
-                // Prevent circular reference
-                if (isCircularReference(task, newParent)) {
-                    throw new ValidationException("Cannot set parent: Circular reference detected");
-                }
-
-                // Validate hierarchy level
-                int newParentLevel = newParent.getHierarchyLevel();
-                if (newParentLevel >= MAX_HIERARCHY_LEVEL) {
-                    throw new ValidationException(
-                            "Cannot update task: Maximum hierarchy level (" + MAX_HIERARCHY_LEVEL + ") reached"
-                    );
-                }
+        String oldSubtreePath = task.getSubtreePath();
+        int oldDepth = task.getDepth();
+        String oldParentCode = task.getParentCode();
+        boolean fieldsChange = changesFields(task, requestDTO);
 
-                task.setParent(newParent);
-            }
-        } else if (requestDTO.getParentCode() == null || requestDTO.getParentCode().isEmpty()) {
-            task.setParent(null);
-        }
+        moveToParent(task, requestDTO.getParentCode());
 
         // Update task fields
         task.setTitle(requestDTO.getTitle());
@@ -150,15 +453,229 @@ public class TaskServiceImpl implements TaskService {
         task.setPriority(requestDTO.getPriority());
         task.setTags(requestDTO.getTags());
 
+        return writeIfMatch(task, expectedVersion,
+                () -> writeUpdate(task, oldSubtreePath, oldDepth, oldParentCode, fieldsChange));
+    }
+
+
+    /**
+     * Changes only the fields present in the patch. The parent is looked up and
+     * checked only when the patch names a different one, and Hibernate writes only
+     * the columns that change (see {@link Task}'s dynamic update).
+     */
+    @Override
+    public TaskResponseDTO patchTask(String code, TaskPatchDTO patchDTO, Long expectedVersion) {
+        log.debug("Patching task with code: {}", code);
+
+        Task task = taskRepository.findByCode(code)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with code: " + code));
+        checkVersion(task, expectedVersion);
+
+        String oldSubtreePath = task.getSubtreePath();
+        int oldDepth = task.getDepth();
+        String oldParentCode = task.getParentCode();
+
+        if (patchDTO.getParentCode() != null) {
+            moveToParent(task, patchDTO.getParentCode().orElse(null));
+        }
+        boolean fieldsChange = patch(patchDTO.getTitle(), task::getTitle, task::setTitle)
+                | patch(patchDTO.getDescription(), task::getDescription, task::setDescription)
+                | patch(patchDTO.getStatus(), task::getStatus, task::setStatus)
+                | patch(patchDTO.getAssignedDate(), task::getAssignedDate, task::setAssignedDate)
+                | patch(patchDTO.getDueDate(), task::getDueDate, task::setDueDate)
+                | patch(patchDTO.getAssigneeId(), task::getAssignedId, task::setAssignedId)
+                | patch(patchDTO.getPriority(), task::getPriority, task::setPriority)
+                | patch(patchDTO.getTags(), task::getTags, task::setTags);
+
+        return writeIfMatch(task, expectedVersion,
+                () -> writeUpdate(task, oldSubtreePath, oldDepth, oldParentCode, fieldsChange));
+    }
+
+
+    /**
+     * Sets a field present in a patch, where an empty value clears it; whether the field changed.
+     */
+    private static <T> boolean patch(Optional<T> value, Supplier<T> current, Consumer<T> setter) {
+        if (value == null || Objects.equals(value.orElse(null), current.get())) {
+            return false;
+        }
+        setter.accept(value.orElse(null));
+        return true;
+    }
+
+
+    /**
+     * Moves a task below another, or to the root for a null or empty parent code. A new
+     * parent is checked for cycles and for the depth of the whole moved subtree; the
+     * current parent is left as it is.
+     */
+    private void moveToParent(Task task, String parentCode) {
+        if (parentCode == null || parentCode.isEmpty()) {
+            task.setParent(null);
+            return;
+        }
+        if (parentCode.equals(task.getCode()) || parentCode.equals(task.getParentCode())) {
+            return;
+        }
+        TaskParent newParent = findParent(parentCode);
+
+        // Prevent circular reference
+        if (isCircularReference(task, newParent)) {
+            throw new ValidationException("Cannot set parent: Circular reference detected");
+        }
+
+        // Validate hierarchy level
+        int newParentLevel = Task.hierarchyLevelOf(newParent.depth());
+        if (newParentLevel >= MAX_HIERARCHY_LEVEL) {
+            throw new ValidationException(
+                    "Cannot update task: Maximum hierarchy level (" + MAX_HIERARCHY_LEVEL + ") reached"
+            );
+        }
+
+        // The deepest descendant moves along with the task
+        Integer deepestDescendant = taskRepository.findMaxDepthInSubtree(task.getSubtreePath());
+        if (deepestDescendant != null
+                && newParentLevel + 1 + (deepestDescendant - task.getDepth()) > MAX_HIERARCHY_LEVEL) {
+            throw new ValidationException(
+                    "Cannot update task: Maximum hierarchy level (" + MAX_HIERARCHY_LEVEL + ") reached"
+            );
+        }
+
+        attachToParent(task, newParent);
+    }
+
+
+    /**
+     * Saves a changed task, stamping it if anything changed, moves its descendants
+     * along when its path changed, and evicts what the change makes stale.
+     */
+    private TaskResponseDTO writeUpdate(Task task, String oldSubtreePath, int oldDepth, String oldParentCode,
+                                        boolean fieldsChange) {
+        String code = task.getCode();
+        String newSubtreePath = task.getSubtreePath();
+        int depthDelta = task.getDepth() - oldDepth;
+        boolean parentChanges = !Objects.equals(oldParentCode, task.getParentCode());
+        if (fieldsChange || parentChanges) {
+            task.stampUpdate();
+        }
+
         Task updatedTask = taskRepository.save(task);
         log.info("Task updated successfully with code: {}", updatedTask.getCode());
 
-        taskRepository.flush();
-        
-        Task taskWithChildren = taskRepository.findByCode(updatedTask.getCode())
-                .orElse(updatedTask);
+        // Re-root the materialized paths of all descendants in one statement. Each of them
+        // gets a new version, and maybe a new level, so all are evicted, cached parents or not
+        if (!oldSubtreePath.equals(newSubtreePath)) {
+            List<String> descendants = taskRepository.findCodesInSubtree(oldSubtreePath);
+            int moved = taskRepository.moveSubtree(oldSubtreePath, newSubtreePath, depthDelta);
+            taskCache.evictAll(descendants);
+            log.debug("Moved {} descendant(s) of task {}", moved, updatedTask.getCode());
+        }
+        taskCache.evict(code, oldParentCode, task.getParentCode());
+
+        // Children were fetched with the task and do not change
+        TaskResponseDTO response = convertToDTO(updatedTask);
+        if (parentChanges) {
+            updateRootTaskIndex(response, oldParentCode, task.getParentCode());
+        } else {
+            // The child codes of the parent stay the same
+            updateRootTaskIndex(response);
+        }
+        return response;
+    }
+
 
-        return convertToDTO(taskWithChildren);
+    /**
+     * Runs a write made under an expected version and flushes it at once, so that a
+     * write committed since the version check, which the UPDATE's own version check
+     * catches, fails this write as a precondition too rather than as a conflict at commit.
+     */
+    private TaskResponseDTO writeIfMatch(Task task, Long expectedVersion, Supplier<TaskResponseDTO> write) {
+        if (expectedVersion == null) {
+            return write.get();
+        }
+        try {
+            TaskResponseDTO response = write.get();
+            entityManager.flush();
+            return response;
+        } catch (OptimisticLockException | OptimisticLockingFailureException e) {
+            throw new PreconditionFailedException("Task " + task.getCode() + " is no longer at version "
+                    + expectedVersion);
+        }
+    }
+
+
+    private static void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new PreconditionFailedException("Task " + task.getCode() + " is at version " + task.getVersion()
+                    + ", not " + expectedVersion);
+        }
+    }
+
+
+    /**
+     * Whether a full update changes any field besides the parent; an unchanged task
+     * is not written, and keeps its updated_at.
+     */
+    private static boolean changesFields(Task task, TaskRequestDTO requestDTO) {
+        return !Objects.equals(task.getTitle(), requestDTO.getTitle())
+                || !Objects.equals(task.getDescription(), requestDTO.getDescription())
+                || task.getStatus() != requestDTO.getStatus()
+                || !Objects.equals(task.getAssignedDate(), requestDTO.getAssignedDate())
+                || !Objects.equals(task.getDueDate(), requestDTO.getDueDate())
+                || !Objects.equals(task.getAssignedId(), requestDTO.getAssigneeId())
+                || !Objects.equals(task.getPriority(), requestDTO.getPriority())
+                || !Objects.equals(task.getTags(), requestDTO.getTags());
+    }
+
+
+    /**
+     * Applies a status, assignee and/or priority change to the selected tasks with
+     * set-based UPDATE statements, without loading any of them.
+     */
+    @Override
+    public TaskBulkUpdateResultDTO updateTasks(TaskBulkUpdateDTO updateDTO) {
+        boolean byCodes = updateDTO.getCodes() != null && !updateDTO.getCodes().isEmpty();
+        boolean byParent = updateDTO.getParentCode() != null && !updateDTO.getParentCode().isEmpty();
+        if (byCodes == byParent) {
+            throw new ValidationException("Select the tasks to update by either codes or parentCode");
+        }
+        if (updateDTO.getStatus() == null && updateDTO.getAssigneeId() == null && updateDTO.getPriority() == null) {
+            throw new ValidationException("Nothing to update: set status, assigneeId or priority");
+        }
+
+        LocalDateTime now = Task.now();
+        long matched;
+        int updated = 0;
+        if (byParent) {
+            log.debug("Bulk updating children of task: {}", updateDTO.getParentCode());
+            if (!taskRepository.existsByCode(updateDTO.getParentCode())) {
+                throw new ResourceNotFoundException("Parent task not found with code: " + updateDTO.getParentCode());
+            }
+            matched = taskRepository.countByParentCode(updateDTO.getParentCode());
+            updated = taskRepository.bulkUpdateByParentCode(updateDTO.getParentCode(), updateDTO.getStatus(),
+                    updateDTO.getAssigneeId(), updateDTO.getPriority(), now);
+            taskCache.evictChildrenOf(updateDTO.getParentCode());
+        } else {
+            List<String> codes = updateDTO.getCodes().stream().distinct().collect(Collectors.toList());
+            log.debug("Bulk updating {} task(s) by code", codes.size());
+            matched = 0;
+            for (int from = 0; from < codes.size(); from += BULK_UPDATE_CODES_PER_STATEMENT) {
+                int to = Math.min(from + BULK_UPDATE_CODES_PER_STATEMENT, codes.size());
+                List<String> batch = codes.subList(from, to);
+                matched += taskRepository.countByCodeIn(batch);
+                updated += taskRepository.bulkUpdateByCodes(batch, updateDTO.getStatus(),
+                        updateDTO.getAssigneeId(), updateDTO.getPriority(), now);
+            }
+            taskCache.evictAll(codes);
+            // Children keep their parent, so only roots already in the index can change
+            updateRootTaskIndex(codes.stream().filter(rootTaskIndex::contains).collect(Collectors.toList()));
+        }
+
+        log.info("Bulk update matched {} task(s), changed {}", matched, updated);
+        return TaskBulkUpdateResultDTO.builder()
+                .matched(matched)
+                .updated(updated)
+                .build();
     }
 
 
@@ -178,37 +695,264 @@ public class TaskServiceImpl implements TaskService {
         }
 
         taskRepository.delete(task);
+        taskCache.evict(code, task.getParentCode());
+        updateRootTaskIndex(List.of(code), task.getParentCode());
         log.info("Task deleted successfully with code: {}", code);
     }
 
 
+    /**
+     * Deletes a task with all of its descendants using a constant number of
+     * statements, found by their materialized path; none of them is loaded.
+     */
     @Override
-    @Transactional(readOnly = true)
+    public void deleteSubtree(String code) {
+        log.debug("Deleting subtree of task with code: {}", code);
+
+        String path = taskRepository.findPathByCode(code)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with code: " + code));
+        taskCache.evict(code);
+
+        String subtreePath = path + code + "/";
+        // Codes of the whole subtree from the database: descendants may be cached below uncached parents
+        taskCache.evictAll(taskRepository.findCodesInSubtree(subtreePath));
+        taskCache.evict(parentCodeOfPath(path));
+        taskRepository.detachSubtree(subtreePath);
+        int deleted = taskRepository.deleteSubtree(code, subtreePath);
+        updateRootTaskIndex(List.of(code), parentCodeOfPath(path));
+        log.info("Deleted {} task(s) in the subtree of task with code: {}", deleted, code);
+    }
+
+
+    /**
+     * Concurrent reads of the same parent share one load, as for {@link #getTaskByCode}.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<TaskResponseDTO> getChildTasks(String parentCode) {
+        return readCoalescer.coalesce("children:" + parentCode, () -> loadChildTasks(parentCode));
+    }
+
+
+    private List<TaskResponseDTO> loadChildTasks(String parentCode) {
         log.debug("Fetching child tasks for parent code: {}", parentCode);
 
         // Verify parent exists
-        taskRepository.findByCode(parentCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Parent task not found with code: " + parentCode));
+        if (!taskRepository.existsByCode(parentCode)) {
+            throw new ResourceNotFoundException("Parent task not found with code: " + parentCode);
+        }
 
-        List<Task> children = taskRepository.findByParentCode(parentCode);
-        return children.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(taskRepository.findViewsByParentCode(parentCode));
     }
 
 
+    /**
+     * Served from the root task index, which is loaded on first use.
+     */
     @Override
     @Transactional(readOnly = true)
     public List<TaskResponseDTO> getRootTasks() {
         log.debug("Fetching all root tasks");
-        return taskRepository.findRootTasks().stream()
-                .map(this::convertToDTO)
+        return rootTaskIndex.isLoaded() ? rootTaskIndex.getAll() : loadRootTasks();
+    }
+
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TaskResponseDTO> getRootTasks(Pageable pageable) {
+        log.debug("Fetching root tasks with pagination: {}", pageable);
+        if (!rootTaskIndex.isLoaded()) {
+            loadRootTasks();
+        }
+        return rootTaskIndex.getPage(pageable);
+    }
+
+
+    /**
+     * Loads the root task index at startup, so that the first request does not pay for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadRootTaskIndex() {
+        log.info("Loaded {} root task(s) into the root task index", loadRootTasks().size());
+    }
+
+
+    private List<TaskResponseDTO> loadRootTasks() {
+        long changeCount = rootTaskIndex.changeCount();
+        List<TaskResponseDTO> roots = convertToDTOs(taskRepository.findRootViews());
+        rootTaskIndex.load(roots, changeCount);
+        return roots;
+    }
+
+
+    /**
+     * Hands a written task to the root task index, as responded when it is a root,
+     * along with those of the given parents that are indexed roots, whose child codes
+     * change. Only those parents are read.
+     */
+    private void updateRootTaskIndex(TaskResponseDTO written, String... parentCodes) {
+        List<String> rootParents = Stream.of(parentCodes)
+                .filter(code -> code != null && rootTaskIndex.contains(code))
+                .distinct()
+                .toList();
+        List<TaskResponseDTO> roots = new ArrayList<>();
+        if (written.getParentCode() == null) {
+            roots.add(written);
+        }
+        if (!rootParents.isEmpty()) {
+            roots.addAll(convertToDTOs(taskRepository.findRootViewsByCodeIn(rootParents)));
+        }
+        List<String> codes = new ArrayList<>(rootParents);
+        codes.add(written.getCode());
+        rootTaskIndex.update(codes, roots);
+    }
+
+
+    /**
+     * Hands the current state of the given tasks to the root task index, which keeps
+     * the roots among them once the transaction commits. Only those are read.
+     */
+    private void updateRootTaskIndex(List<String> codes, String... moreCodes) {
+        Set<String> candidates = Stream.concat(codes.stream(), Stream.of(moreCodes))
+                .filter(code -> code != null && !code.isEmpty())
+                .collect(Collectors.toSet());
+        if (candidates.isEmpty()) {
+            return;
+        }
+        List<TaskResponseDTO> roots = rootTaskIndex.isLoaded()
+                ? convertToDTOs(taskRepository.findRootViewsByCodeIn(candidates))
+                : Collections.emptyList();
+        rootTaskIndex.update(candidates, roots);
+    }
+
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskTreeDTO getSubtree(String code, Integer maxDepth) {
+        log.debug("Fetching subtree of task with code: {}, maxDepth: {}", code, maxDepth);
+
+        if (maxDepth != null && maxDepth < 0) {
+            throw new ValidationException("maxDepth must not be negative");
+        }
+        // No subtree is deeper; a larger limit would also overflow the one extra level below
+        int depthLimit = maxDepth != null ? Math.min(maxDepth, MAX_HIERARCHY_LEVEL - 1) : MAX_HIERARCHY_LEVEL - 1;
+
+        // One level beyond the limit is loaded only to report the child codes of the deepest nodes
+        List<Task> tasks = taskRepository.findSubtree(code, depthLimit + 1);
+        if (tasks.isEmpty()) {
+            throw new ResourceNotFoundException("Task not found with code: " + code);
+        }
+
+        Task root = null;
+        Map<String, List<Task>> childrenByParent = new HashMap<>();
+        for (Task task : tasks) {
+            if (task.getCode().equals(code)) {
+                root = task;
+            } else {
+                childrenByParent.computeIfAbsent(task.getParentCode(), k -> new ArrayList<>()).add(task);
+            }
+        }
+        return buildTree(root, 0, depthLimit, childrenByParent);
+    }
+
+
+    /**
+     * Writes every task as one JSON line, parents before their children. Rows are
+     * read through a database cursor and detached once written, so memory does not
+     * grow with the table. Child codes are left out: parent codes carry the hierarchy.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportTasks(OutputStream out) throws IOException {
+        log.debug("Exporting all tasks");
+        long exported = 0;
+        try (Stream<Task> tasks = taskRepository.streamAllByDepth()) {
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                out.write(objectMapper.writeValueAsBytes(convertToDTO(task, Collections.emptyList())));
+                out.write('\n');
+                entityManager.detach(task);
+                exported++;
+            }
+        }
+        out.flush();
+        log.info("Exported {} task(s)", exported);
+        return exported;
+    }
+
+
+    private TaskTreeDTO buildTree(Task task, int level, int depthLimit, Map<String, List<Task>> childrenByParent) {
+        List<Task> children = childrenByParent.getOrDefault(task.getCode(), Collections.emptyList());
+        TaskTreeDTO node = TaskTreeDTO.builder()
+                .task(convertToDTO(task, children.stream().map(Task::getCode).collect(Collectors.toList())))
+                .build();
+        if (level < depthLimit) {
+            for (Task child : children) {
+                node.getChildren().add(buildTree(child, level + 1, depthLimit, childrenByParent));
+            }
+        }
+        return node;
+    }
+
+
+    /**
+     * Converts a whole result set, resolving the child codes of every task with a
+     * single query. Parent codes and levels are read from the rows themselves.
+     */
+    private List<TaskResponseDTO> convertToDTOs(List<TaskView> tasks) {
+        if (tasks.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> codes = tasks.stream().map(TaskView::code).collect(Collectors.toList());
+        Map<String, List<String>> childCodesByParent = new HashMap<>();
+        for (TaskChildCode child : taskRepository.findChildCodes(codes)) {
+            childCodesByParent.computeIfAbsent(child.parentCode(), k -> new ArrayList<>()).add(child.code());
+        }
+        return tasks.stream()
+                .map(task -> convertToDTO(task, childCodesByParent.getOrDefault(task.code(), Collections.emptyList())))
                 .collect(Collectors.toList());
     }
 
 
+    private TaskResponseDTO convertToDTO(TaskView task, List<String> childCodes) {
+        TaskResponseDTO.TaskResponseDTOBuilder builder = TaskResponseDTO.builder()
+                .id(task.id())
+                .code(task.code())
+                .title(task.title())
+                .description(task.description())
+                .status(task.status())
+                .assignedDate(task.assignedDate())
+                .dueDate(task.dueDate())
+                .creatorId(task.creatorId())
+                .assigneeId(task.assigneeId())
+                .priority(task.priority())
+                .tags(task.tags())
+                .createdAt(task.createdAt())
+                .updatedAt(task.updatedAt())
+                .hierarchyLevel(task.hierarchyLevel())
+                .parentCode(task.parentCode())
+                .version(task.version());
+
+        if (!childCodes.isEmpty()) {
+            builder.childCodes(childCodes);
+        }
+
+        return builder.build();
+    }
+
+
     private TaskResponseDTO convertToDTO(Task task) {
+        List<String> childCodes = task.getChildren() == null ? Collections.emptyList()
+                : task.getChildren().stream()
+                        .map(Task::getCode)
+                        .collect(Collectors.toList());
+        return convertToDTO(task, childCodes);
+    }
+
+
+    private TaskResponseDTO convertToDTO(Task task, List<String> childCodes) {
         TaskResponseDTO.TaskResponseDTOBuilder builder = TaskResponseDTO.builder()
                 .id(task.getId())
                 .code(task.getCode())
@@ -223,16 +967,11 @@ public class TaskServiceImpl implements TaskService {
                 .tags(task.getTags())
                 .createdAt(task.getCreateAt())
                 .updatedAt(task.getUpdatedAt())
-                .hierarchyLevel(task.getHierarchyLevel());
-
-        if (task.getParent() != null) {
-            builder.parentCode(task.getParent().getCode());
-        }
+                .hierarchyLevel(task.getHierarchyLevel())
+                .parentCode(parentCodeOf(task))
+                .version(task.getWrittenVersion());
 
-        if (task.getChildren() != null && !task.getChildren().isEmpty()) {
-            List<String> childCodes = task.getChildren().stream()
-                    .map(Task::getCode)
-                    .collect(Collectors.toList());
+        if (!childCodes.isEmpty()) {
             builder.childCodes(childCodes);
         }
 
@@ -240,14 +979,30 @@ public class TaskServiceImpl implements TaskService {
     }
 
 
-    private boolean isCircularReference(Task task, Task newParent) {
-        Task current = newParent;
-        while (current != null) {
-            if (current.getCode().equals(task.getCode())) {
-                return true;
-            }
-            current = current.getParent();
+    private String parentCodeOf(Task task) {
+        if (task.getParentCode() != null || task.getParent() == null) {
+            return task.getParentCode();
         }
-        return false;
+        // Not persisted yet: fall back to the in-memory parent
+        return task.getParent().getCode();
+    }
+
+
+    /**
+     * Last code of a materialized path, which is the parent of the task it belongs to.
+     */
+    private static String parentCodeOfPath(String path) {
+        if (Task.ROOT_PATH.equals(path)) {
+            return null;
+        }
+        String ancestors = path.substring(0, path.length() - 1);
+        return ancestors.substring(ancestors.lastIndexOf('/') + 1);
+    }
+
+
+    private boolean isCircularReference(Task task, TaskParent newParent) {
+        // The materialized path already lists every ancestor of the new parent
+        return newParent.code().equals(task.getCode())
+                || newParent.path().contains("/" + task.getCode() + "/");
     }
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.test.test.benchmark;
+
+import com.test.test.dto.TaskBulkItemDTO;
+import com.test.test.dto.TaskBulkRequestDTO;
+import com.test.test.dto.TaskRequestDTO;
+import com.test.test.entity.TaskStatus;
+import com.test.test.repository.TaskRepository;
+import com.test.test.service.TaskService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures bulk create throughput into H2 with batched inserts. Each request
+ * holds {@link TaskBulkRequestDTO#MAX_TASKS} tasks: roots with two levels of
+ * children referenced by ref. The same tasks created one request at a time are
+ * the baseline, measured in the same run, and bulk creates must be faster. A
+ * target for the machine at hand can be set with the system property
+ * {@code benchmark.bulk.min-tasks-per-second}. Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk-benchmark",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.com.test.test=INFO"
+})
+@DisplayName("Bulk task import benchmark")
+class TaskBulkImportBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskBulkImportBenchmark.class);
+
+    private static final int WARMUP_REQUESTS = 3;
+    private static final int MEASURED_REQUESTS = 10;
+    private static final int SINGLE_WARMUP_TASKS = 500;
+    private static final int SINGLE_MEASURED_TASKS = 2_000;
+    private static final long TARGET_TASKS_PER_SECOND = Long.getLong("benchmark.bulk.min-tasks-per-second", 0);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    @DisplayName("Tasks per second through POST /api/tasks/bulk")
+    void bulkCreateThroughput() {
+        singleCreatesPerSecond("sw", SINGLE_WARMUP_TASKS);
+        double singlePerSecond = singleCreatesPerSecond("sm", SINGLE_MEASURED_TASKS);
+
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            taskService.createTasks(request("w" + i));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            taskService.createTasks(request("m" + i));
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long tasks = (long) MEASURED_REQUESTS * TaskBulkRequestDTO.MAX_TASKS;
+        double tasksPerSecond = tasks / seconds;
+
+        log.info("Bulk create: {} tasks in {} s = {} tasks/s; single creates: {} tasks/s",
+                tasks, String.format("%.2f", seconds), String.format("%,.0f", tasksPerSecond),
+                String.format("%,.0f", singlePerSecond));
+        assertEquals((long) (WARMUP_REQUESTS + MEASURED_REQUESTS) * TaskBulkRequestDTO.MAX_TASKS
+                + SINGLE_WARMUP_TASKS + SINGLE_MEASURED_TASKS, taskRepository.count());
+        assertTrue(tasksPerSecond > singlePerSecond, String.format(
+                "Bulk create %,.0f tasks/s is not faster than single creates %,.0f tasks/s", tasksPerSecond, singlePerSecond));
+        assertTrue(tasksPerSecond >= TARGET_TASKS_PER_SECOND,
+                String.format("%,.0f tasks/s is below the target of %,d tasks/s", tasksPerSecond, TARGET_TASKS_PER_SECOND));
+    }
+
+    /**
+     * Creates the first {@code count} tasks of a bulk request one by one, each naming
+     * the code of its parent; returns tasks per second.
+     */
+    private double singleCreatesPerSecond(String prefix, int count) {
+        List<TaskBulkItemDTO> items = request(prefix).getTasks().subList(0, count);
+        Map<String, String> codesByRef = new HashMap<>();
+
+        long start = System.nanoTime();
+        for (TaskBulkItemDTO item : items) {
+            TaskRequestDTO task = item.getTask();
+            task.setParentCode(item.getParentRef() != null ? codesByRef.get(item.getParentRef()) : null);
+            codesByRef.put(item.getRef(), taskService.createTask(task).getCode());
+        }
+        return count / ((System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * A root every 10 tasks, each with 3 children that have 2 children of their own
+     */
+    private TaskBulkRequestDTO request(String prefix) {
+        List<TaskBulkItemDTO> items = new ArrayList<>(TaskBulkRequestDTO.MAX_TASKS);
+        for (int i = 0; i < TaskBulkRequestDTO.MAX_TASKS; i++) {
+            int position = i % 10;
+            String parentRef = position == 0 ? null
+                    : position <= 3 ? prefix + (i - position)
+                    : prefix + (i - position + 1 + (position - 4) / 2);
+            items.add(TaskBulkItemDTO.builder()
+                    .ref(prefix + i)
+                    .parentRef(parentRef)
+                    .task(TaskRequestDTO.builder()
+                            .title("Bulk task " + i)
+                            .description("Imported by the bulk benchmark")
+                            .status(TaskStatus.PENDING)
+                            .creatorId(1L)
+                            .priority("MEDIUM")
+                            .tags("benchmark")
+                            .build())
+                    .build());
+        }
+        return TaskBulkRequestDTO.builder().tasks(items).build();
+    }
+}
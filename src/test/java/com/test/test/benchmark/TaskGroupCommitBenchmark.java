@@ -0,0 +1,116 @@
+package com.test.test.benchmark;
+
+import com.test.test.dto.TaskRequestDTO;
+import com.test.test.entity.TaskStatus;
+import com.test.test.repository.TaskRepository;
+import com.test.test.service.TaskCreateBatcher;
+import com.test.test.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures single task creates per second against the number of concurrent
+ * callers, with a transaction per create and with group commit. From 16 callers
+ * on, group commit must need at most one commit per 4 creates, and at the highest
+ * concurrency it must be faster. Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:group-commit-benchmark",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.com.test.test=WARN",
+        "logging.level.com.test.test.benchmark=INFO",
+        "task.write.group-commit.enabled=true"
+})
+@DisplayName("Task group commit benchmark")
+class TaskGroupCommitBenchmark {
+
+    private static final int[] CONCURRENCY = {1, 4, 16, 64, 256};
+    private static final int CREATES_PER_RUN = 5_000;
+    private static final int MIN_GROUPED_CALLERS = 16;
+    private static final int MIN_CREATES_PER_COMMIT = 4;
+
+    private static final Logger log = LoggerFactory.getLogger(TaskGroupCommitBenchmark.class);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCreateBatcher taskCreateBatcher;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Creates per second: transaction per create vs. group commit")
+    void createThroughput() throws Exception {
+        // Warm up both paths
+        createsPerSecond(16, taskService::createTask);
+        createsPerSecond(16, taskCreateBatcher::create);
+
+        double direct = 0;
+        double grouped = 0;
+        for (int callers : CONCURRENCY) {
+            direct = createsPerSecond(callers, taskService::createTask);
+            long batchesBefore = taskCreateBatcher.getBatchCount();
+            grouped = createsPerSecond(callers, taskCreateBatcher::create);
+            long batches = taskCreateBatcher.getBatchCount() - batchesBefore;
+            log.info("{} caller(s): transaction per create {} /s, group commit {} /s in {} commit(s)",
+                    callers, String.format("%,.0f", direct), String.format("%,.0f", grouped), batches);
+            if (callers >= MIN_GROUPED_CALLERS) {
+                assertTrue(batches <= CREATES_PER_RUN / MIN_CREATES_PER_COMMIT,
+                        callers + " callers needed " + batches + " commits for " + CREATES_PER_RUN + " creates");
+            }
+        }
+        // At the highest concurrency
+        assertTrue(grouped > direct, String.format("Group commit %,.0f /s is not faster than %,.0f /s", grouped, direct));
+        // Two warm-up runs, then both modes at every concurrency
+        assertEquals((2L + 2L * CONCURRENCY.length) * CREATES_PER_RUN, taskRepository.count());
+    }
+
+    private double createsPerSecond(int callers, Consumer<TaskRequestDTO> create) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<?>> futures = new ArrayList<>(CREATES_PER_RUN);
+            long start = System.nanoTime();
+            for (int i = 0; i < CREATES_PER_RUN; i++) {
+                TaskRequestDTO request = TaskRequestDTO.builder()
+                        .title("Benchmark task " + i)
+                        .status(TaskStatus.PENDING)
+                        .creatorId(1L)
+                        .priority("MEDIUM")
+                        .build();
+                futures.add(executor.submit(() -> create.accept(request)));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            return CREATES_PER_RUN / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.test.test.benchmark;
+
+import com.test.test.entity.Task;
+import com.test.test.entity.TaskStatus;
+import com.test.test.repository.TaskRepository;
+import com.test.test.service.TaskCodeFilter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Measures GET /api/tasks/{code} requests per second for codes that do not exist,
+ * answered by the code filter and, with the filter reset, by a database lookup.
+ * Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:not-found-benchmark",
+        "task.code-filter.enabled=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.com.test.test=WARN",
+        "logging.level.com.test.test.benchmark=INFO"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Unknown task code benchmark")
+class TaskNotFoundBenchmark {
+
+    private static final int STORED_TASKS = 10_000;
+    private static final int WARMUP_REQUESTS = 5_000;
+    private static final int MEASURED_REQUESTS = 20_000;
+
+    private static final Logger log = LoggerFactory.getLogger(TaskNotFoundBenchmark.class);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCodeFilter taskCodeFilter;
+
+    @BeforeAll
+    void seed() {
+        List<Task> tasks = new ArrayList<>(STORED_TASKS);
+        for (int i = 0; i < STORED_TASKS; i++) {
+            tasks.add(Task.builder()
+                    .code(String.format("ST-%02d-%04d", i / 10_000, i % 10_000))
+                    .title("Stored task " + i)
+                    .status(TaskStatus.PENDING)
+                    .createdId(1L)
+                    .build());
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        taskRepository.deleteAllInBatch();
+        taskCodeFilter.reset();
+        taskCodeFilter.load();
+    }
+
+    @Test
+    @DisplayName("404 responses per second: code filter vs. database lookup")
+    void notFoundThroughput() throws Exception {
+        taskCodeFilter.reset();
+        taskCodeFilter.load();
+        double filtered = requestsPerSecond("UF");
+        long rejected = taskCodeFilter.getRejectedCount();
+
+        // Unloaded, the filter lets every code through to the cache and the database
+        taskCodeFilter.reset();
+        double lookedUp = requestsPerSecond("UD");
+
+        log.info("GET unknown code: code filter {} req/s, database lookup {} req/s (x{})",
+                String.format("%,.0f", filtered), String.format("%,.0f", lookedUp),
+                String.format("%.1f", filtered / lookedUp));
+        assertTrue(rejected >= (long) (0.98 * (WARMUP_REQUESTS + MEASURED_REQUESTS)),
+                "Code filter rejected only " + rejected + " unknown codes");
+        assertTrue(filtered > lookedUp,
+                String.format("Code filter %,.0f req/s is not faster than %,.0f req/s", filtered, lookedUp));
+    }
+
+    /**
+     * Well-formed codes that were never stored, a different one per request
+     */
+    private double requestsPerSecond(String prefix) throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            getUnknown(prefix + "-98-" + suffix(i));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            getUnknown(prefix + "-99-" + suffix(i));
+        }
+        return MEASURED_REQUESTS / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private void getUnknown(String code) throws Exception {
+        int status = mockMvc.perform(get("/api/tasks/{code}", code)).andReturn().getResponse().getStatus();
+        assertEquals(404, status);
+    }
+
+    private static String suffix(int i) {
+        return String.format("%4s", Integer.toString(i, 36)).replace(' ', '0');
+    }
+}
@@ -0,0 +1,194 @@
+package com.test.test.benchmark;
+
+import com.test.test.dto.TaskResponseDTO;
+import com.test.test.dto.TaskView;
+import com.test.test.entity.Task;
+import com.test.test.repository.TaskRepository;
+import com.test.test.service.TaskResponseCache;
+import com.test.test.service.TaskService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.test.test.support.TaskFixtures.task;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares heap allocated per read request when tasks are loaded as managed
+ * entities (the previous read path) and when rows are projected into
+ * {@link TaskView} records. Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=INFO"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Task read path allocation benchmark")
+class TaskReadAllocationBenchmark {
+
+    private static final int ROOT_TASKS = 200;
+    private static final int CHILDREN_PER_ROOT = 4;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 1_000;
+
+    private static final Logger log = LoggerFactory.getLogger(TaskReadAllocationBenchmark.class);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskResponseCache taskResponseCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeAll
+    void seed() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        taskRepository.deleteAll();
+        for (int i = 0; i < ROOT_TASKS; i++) {
+            Task root = taskRepository.save(benchmarkTask(String.format("RT-%02d-%04d", i % 100, i), null));
+            for (int c = 0; c < CHILDREN_PER_ROOT; c++) {
+                taskRepository.save(benchmarkTask(String.format("CH-%02d-%04d", c, i), root));
+            }
+        }
+    }
+
+    @AfterAll
+    void cleanUp() {
+        taskRepository.deleteAll();
+    }
+
+    private Task benchmarkTask(String code, Task parent) {
+        Task task = task(code, parent);
+        task.setDescription("Benchmark task " + code);
+        task.setPriority("HIGH");
+        task.setTags("benchmark");
+        return task;
+    }
+
+    @Test
+    @DisplayName("Page of 50 tasks: entities vs. projections")
+    void pageOfTasks() {
+        Pageable pageable = PageRequest.of(2, 50, Sort.by("createAt").descending());
+
+        long entityBytes = bytesPerRequest(() -> entityPage(pageable).stream().map(this::toDTO).toList());
+        long projectionBytes = bytesPerRequest(() -> taskService.getAllTasks(pageable));
+
+        report("GET /api/tasks?size=50", entityBytes, projectionBytes);
+        assertProjectionsAllocateLess("GET /api/tasks?size=50", entityBytes, projectionBytes);
+    }
+
+    @Test
+    @DisplayName("Single task by code: entity vs. projection")
+    void taskByCode() {
+        String code = "RT-42-0042";
+
+        long entityBytes = bytesPerRequest(() -> toDTO(taskRepository.findByCode(code).orElseThrow()));
+        // Cleared on every request so the projection is measured, not the task cache
+        long projectionBytes = bytesPerRequest(() -> {
+            taskResponseCache.clear();
+            return taskService.getTaskByCode(code);
+        });
+        long cachedBytes = bytesPerRequest(() -> taskService.getTaskByCode(code));
+
+        report("GET /api/tasks/{code}", entityBytes, projectionBytes);
+        log.info("GET /api/tasks/{code}: cached {} B/request", String.format("%,d", cachedBytes));
+        assertTrue(cachedBytes < projectionBytes,
+                "Cached reads allocate " + cachedBytes + " B, projections " + projectionBytes + " B");
+    }
+
+    @Test
+    @DisplayName("Root tasks: entities vs. projections")
+    void rootTasks() {
+        long entityBytes = bytesPerRequest(() -> taskRepository.findRootTasks().stream().map(this::toDTO).toList());
+        long projectionBytes = bytesPerRequest(() -> taskService.getRootTasks());
+
+        report("GET /api/tasks/root", entityBytes, projectionBytes);
+        assertProjectionsAllocateLess("GET /api/tasks/root", entityBytes, projectionBytes);
+    }
+
+    /**
+     * A page of managed entities in the given order; children load lazily per task
+     */
+    private List<Task> entityPage(Pageable pageable) {
+        return entityManager.createQuery("SELECT t FROM Task t ORDER BY t.createAt DESC, t.id DESC", Task.class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    /**
+     * The entity-based conversion the read endpoints used before projections
+     */
+    private TaskResponseDTO toDTO(Task task) {
+        return TaskResponseDTO.builder()
+                .id(task.getId())
+                .code(task.getCode())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .status(task.getStatus())
+                .assignedDate(task.getAssignedDate())
+                .dueDate(task.getDueDate())
+                .creatorId(task.getCreatedId())
+                .assigneeId(task.getAssignedId())
+                .priority(task.getPriority())
+                .tags(task.getTags())
+                .createdAt(task.getCreateAt())
+                .updatedAt(task.getUpdatedAt())
+                .hierarchyLevel(task.getHierarchyLevel())
+                .parentCode(task.getParentCode())
+                .childCodes(task.getChildren().stream().map(Task::getCode).collect(Collectors.toList()))
+                .build();
+    }
+
+    private long bytesPerRequest(Supplier<Object> request) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            readOnly.execute(status -> request.get());
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            readOnly.execute(status -> request.get());
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / MEASURED_ITERATIONS;
+    }
+
+    private static void report(String request, long entityBytes, long projectionBytes) {
+        log.info("{}: entities {} B/request, projections {} B/request ({}%)", request,
+                String.format("%,d", entityBytes), String.format("%,d", projectionBytes),
+                String.format("%.1f", 100.0 * projectionBytes / entityBytes));
+    }
+
+    private static void assertProjectionsAllocateLess(String request, long entityBytes, long projectionBytes) {
+        assertTrue(projectionBytes < entityBytes,
+                request + ": projections allocate " + projectionBytes + " B, entities " + entityBytes + " B");
+    }
+}
@@ -0,0 +1,182 @@
+package com.test.test.controller_integration_test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.test.dto.TaskRequestDTO;
+import com.test.test.entity.TaskStatus;
+import com.test.test.repository.TaskRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Accepted writes are committed by a background thread, outside any test
+ * transaction, so these tests clean up after themselves and poll for outcomes.
+ */
+@SpringBootTest(properties = "task.write.queue-capacity=10")
+@AutoConfigureMockMvc
+@DisplayName("Asynchronous task write Integration Tests")
+class TaskAsyncWriteIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAll();
+    }
+
+    private String request(String title, String parentCode) throws Exception {
+        return objectMapper.writeValueAsString(TaskRequestDTO.builder()
+                .title(title)
+                .status(TaskStatus.PENDING)
+                .creatorId(1L)
+                .parentCode(parentCode)
+                .build());
+    }
+
+    private MvcResult accept(String body) throws Exception {
+        return mockMvc.perform(post("/api/tasks").param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn();
+    }
+
+    private JsonNode json(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    /**
+     * Polls the status URL until the write is no longer pending
+     */
+    private JsonNode awaitCompleted(String statusUrl) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            JsonNode status = json(mockMvc.perform(get(statusUrl))
+                    .andExpect(status().isOk())
+                    .andReturn());
+            if (!"PENDING".equals(status.get("state").asText())) {
+                return status;
+            }
+            assertTrue(System.nanoTime() < deadline, "Write still pending: " + statusUrl);
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer 202 with the code at once and create the task in the background")
+    void acceptTask_ValidRequest_CreatedLater() throws Exception {
+        MvcResult result = accept(request("Async task", null));
+
+        assertEquals(202, result.getResponse().getStatus());
+        JsonNode accepted = json(result);
+        String code = accepted.get("code").asText();
+        String statusUrl = accepted.get("statusUrl").asText();
+        assertEquals("/api/tasks/writes/" + code, statusUrl);
+        assertEquals(statusUrl, result.getResponse().getHeader(HttpHeaders.LOCATION));
+
+        JsonNode completed = awaitCompleted(statusUrl);
+        assertEquals("CREATED", completed.get("state").asText());
+        assertEquals("/api/tasks/" + code, completed.get("taskUrl").asText());
+
+        mockMvc.perform(get("/api/tasks/" + code))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Async task"));
+    }
+
+    @Test
+    @DisplayName("Should report a write under a missing parent as failed")
+    void acceptTask_ParentNotFound_Failed() throws Exception {
+        MvcResult result = accept(request("Orphan", "ZZ-99-none"));
+
+        assertEquals(202, result.getResponse().getStatus());
+        JsonNode completed = awaitCompleted(json(result).get("statusUrl").asText());
+        assertEquals("FAILED", completed.get("state").asText());
+        assertTrue(completed.get("error").asText().contains("ZZ-99-none"));
+        assertEquals(0, taskRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an invalid request without accepting it")
+    void acceptTask_MissingTitle_ReturnsBadRequest() throws Exception {
+        assertEquals(400, accept(request(null, null)).getResponse().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should return 404 for a code no write was accepted with")
+    void getWriteStatus_UnknownCode_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/tasks/writes/ZZ-99-none"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return 429 once the queue is full, and write every accepted task")
+    void acceptTask_QueueFull_ReturnsTooManyRequests() throws Exception {
+        List<String> statusUrls = new ArrayList<>();
+        MvcResult rejected = null;
+
+        // The writer cannot get a connection, so accepted writes pile up in the queue
+        List<Connection> held = new ArrayList<>();
+        try {
+            int poolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            for (int i = 0; i < poolSize; i++) {
+                held.add(dataSource.getConnection());
+            }
+            // The queue, plus a batch the writer may have taken
+            for (int i = 0; i < 200 && rejected == null; i++) {
+                MvcResult result = accept(request("Queued " + i, null));
+                if (result.getResponse().getStatus() == 429) {
+                    rejected = result;
+                } else {
+                    assertEquals(202, result.getResponse().getStatus());
+                    statusUrls.add(json(result).get("statusUrl").asText());
+                }
+            }
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+
+        assertNotNull(rejected, "Expected a full queue");
+        assertNotNull(rejected.getResponse().getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(statusUrls.size() >= 10);
+        for (String statusUrl : statusUrls) {
+            assertEquals("CREATED", awaitCompleted(statusUrl).get("state").asText());
+        }
+        assertEquals(statusUrls.size(), taskRepository.count());
+    }
+}
@@ -1,11 +1,15 @@
 package com.test.test.controller_integration_test;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.test.dto.TaskBulkResponseDTO;
+import com.test.test.dto.TaskBulkUpdateDTO;
 import com.test.test.dto.TaskRequestDTO;
 import com.test.test.dto.TaskResponseDTO;
+import com.test.test.dto.TaskSliceDTO;
 import com.test.test.entity.Task;
 import com.test.test.entity.TaskStatus;
 import com.test.test.repository.TaskRepository;
+import com.test.test.service.RootTaskIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -42,6 +46,9 @@ class TaskControllerIntegrationTest {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private RootTaskIndex rootTaskIndex;
+
     private TaskRequestDTO validTaskRequest;
     private Task savedTask;
 
@@ -73,6 +80,9 @@ class TaskControllerIntegrationTest {
                 .children(new ArrayList<>())
                 .build();
         savedTask = taskRepository.save(savedTask);
+
+        // Tasks are seeded through the repository, past the root task index; it loads again on first read
+        rootTaskIndex.clear();
     }
 
     // ========== POST /api/tasks - Create Task Tests ==========
@@ -142,6 +152,60 @@ class TaskControllerIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    // ========== POST /api/tasks/bulk - Bulk Create Tests ==========
+
+    @Test
+    @DisplayName("Should bulk create tasks referencing parents in the same request")
+    void createTasks_WithParentRefs_ReturnsCreated() throws Exception {
+        String body = "{\"tasks\": ["
+                + "{\"ref\": \"child\", \"parentRef\": \"root\", \"title\": \"Child\", \"status\": \"PENDING\", \"creatorId\": 1},"
+                + "{\"ref\": \"root\", \"title\": \"Root\", \"status\": \"PENDING\", \"creatorId\": 1,"
+                + " \"parentCode\": \"" + savedTask.getCode() + "\"}"
+                + "]}";
+
+        String response = mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.codes", hasSize(2)))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> codes = objectMapper.readValue(response, TaskBulkResponseDTO.class).getCodes();
+        mockMvc.perform(get("/api/tasks/{code}", codes.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Child"))
+                .andExpect(jsonPath("$.parentCode").value(codes.get(1)))
+                .andExpect(jsonPath("$.hierarchyLevel").value(3));
+        assertEquals(3, taskRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when a bulk task is missing its title")
+    void createTasks_MissingTitle_ReturnsBadRequest() throws Exception {
+        String body = "{\"tasks\": [{\"ref\": \"a\", \"status\": \"PENDING\", \"creatorId\": 1}]}";
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(1, taskRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when a bulk parentRef is unknown")
+    void createTasks_UnknownParentRef_ReturnsBadRequest() throws Exception {
+        String body = "{\"tasks\": [{\"ref\": \"a\", \"parentRef\": \"missing\", \"title\": \"A\","
+                + " \"status\": \"PENDING\", \"creatorId\": 1}]}";
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown parentRef in bulk request: missing"));
+    }
+
     // ========== GET /api/tasks/{code} - Get Task Tests ==========
 
     @Test
@@ -164,6 +228,42 @@ class TaskControllerIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("Should send the version of the task as its ETag")
+    void getTask_ValidCode_ReturnsETag() throws Exception {
+        mockMvc.perform(get("/api/tasks/{code}", savedTask.getCode()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(jsonPath("$.version").value(0));
+    }
+
+    @Test
+    @DisplayName("Should return 304 without a body when If-None-Match names the current version")
+    void getTask_CurrentETag_ReturnsNotModified() throws Exception {
+        mockMvc.perform(get("/api/tasks/{code}", savedTask.getCode())
+                        .header("If-None-Match", "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Should return the task when If-None-Match names an older version")
+    void getTask_StaleETag_ReturnsOk() throws Exception {
+        mockMvc.perform(get("/api/tasks/{code}", savedTask.getCode())
+                        .header("If-None-Match", "\"7\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(savedTask.getCode()));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for If-None-Match on a missing task")
+    void getTask_ETagOfMissingTask_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/tasks/{code}", "NON-EXISTENT")
+                        .header("If-None-Match", "\"0\""))
+                .andExpect(status().isNotFound());
+    }
+
     // ========== GET /api/tasks - Get All Tasks Tests ==========
 
     @Test
@@ -264,6 +364,99 @@ class TaskControllerIntegrationTest {
                 .andExpect(jsonPath("$.totalElements").value(0));
     }
 
+    @Test
+    @DisplayName("Should walk all tasks slice by slice with a cursor")
+    void getTasksAfter_FollowCursor_ReturnsEveryTaskOnce() throws Exception {
+        for (int i = 0; i < 15; i++) {
+            taskRepository.save(Task.builder()
+                    .code("TS-" + String.format("%02d", i) + "-task" + i)
+                    .title("Task " + i)
+                    .status(TaskStatus.PENDING)
+                    .createdId(1L)
+                    .children(new ArrayList<>())
+                    .build());
+        }
+
+        List<String> seen = new ArrayList<>();
+        String cursor = "";
+        boolean hasNext = true;
+        while (hasNext) {
+            String response = mockMvc.perform(get("/api/tasks")
+                            .param("cursor", cursor)
+                            .param("size", "5")
+                            .param("sortDir", "asc"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").doesNotExist())
+                    .andReturn().getResponse().getContentAsString();
+
+            TaskSliceDTO slice = objectMapper.readValue(response, TaskSliceDTO.class);
+            slice.getContent().forEach(task -> seen.add(task.getCode()));
+            hasNext = slice.isHasNext();
+            cursor = slice.getNextCursor();
+            assertEquals(hasNext, cursor != null);
+        }
+
+        // 1 from setUp + 15 new, in creation order, without gaps or repeats
+        assertEquals(16, seen.size());
+        assertEquals("TS-01-test1", seen.get(0));
+        assertEquals("TS-14-task14", seen.get(15));
+        assertEquals(16, seen.stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("Should return the newest tasks first in the first slice")
+    void getTasksAfter_FirstSlice_ReturnsNewestFirst() throws Exception {
+        taskRepository.save(Task.builder()
+                .code("TS-02-newer")
+                .title("Newer Task")
+                .status(TaskStatus.PENDING)
+                .createdId(1L)
+                .children(new ArrayList<>())
+                .build());
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("cursor", "")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].code").value("TS-02-newer"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return bad request for a malformed cursor")
+    void getTasksAfter_InvalidCursor_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
+    @Test
+    @DisplayName("Should return bad request for a slice size out of range")
+    void getTasksAfter_SizeOutOfRange_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .param("cursor", "")
+                        .param("size", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("size must be between 1 and 1000"));
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("cursor", "")
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return bad request when sorting by an unindexed field in cursor mode")
+    void getTasksAfter_UnsupportedSort_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .param("cursor", "")
+                        .param("sortBy", "title"))
+                .andExpect(status().isBadRequest());
+    }
+
     // ========== PUT /api/tasks/{code} - Update Task Tests ==========
 
     @Test
@@ -327,6 +520,119 @@ class TaskControllerIntegrationTest {
         assertEquals(parent.getCode(), updatedTask.getParent().getCode());
     }
 
+    @Test
+    @DisplayName("Should move descendants along when a task is reparented")
+    void updateTask_MoveSubtree_UpdatesDescendantLevels() throws Exception {
+        Task target = taskRepository.save(Task.builder()
+                .code("TG-01-targ")
+                .title("Target Parent")
+                .status(TaskStatus.PENDING)
+                .createdId(1L)
+                .parent(savedTask)
+                .children(new ArrayList<>())
+                .build());
+        Task moved = taskRepository.save(Task.builder()
+                .code("MV-01-move")
+                .title("Moved Task")
+                .status(TaskStatus.PENDING)
+                .createdId(1L)
+                .children(new ArrayList<>())
+                .build());
+        taskRepository.save(Task.builder()
+                .code("MV-02-desc")
+                .title("Moved Descendant")
+                .status(TaskStatus.PENDING)
+                .createdId(1L)
+                .parent(moved)
+                .children(new ArrayList<>())
+                .build());
+
+        TaskRequestDTO updateRequest = TaskRequestDTO.builder()
+                .title(moved.getTitle())
+                .status(moved.getStatus())
+                .creatorId(1L)
+                .parentCode(target.getCode())
+                .build();
+
+        mockMvc.perform(put("/api/tasks/{code}", moved.getCode())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.parentCode").value(target.getCode()))
+                .andExpect(jsonPath("$.hierarchyLevel").value(3));
+
+        mockMvc.perform(get("/api/tasks/{code}", "MV-02-desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.parentCode").value("MV-01-move"))
+                .andExpect(jsonPath("$.hierarchyLevel").value(4));
+
+        Task descendant = taskRepository.findByCode("MV-02-desc").orElseThrow();
+        assertEquals(List.of("TS-01-test1", "TG-01-targ", "MV-01-move"), descendant.getAncestorCodes());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when reparenting a task under its own descendant")
+    void updateTask_CircularReference_ReturnsBadRequest() throws Exception {
+        Task child = taskRepository.save(Task.builder()
+                .code("CH-01-child")
+                .title("Child Task")
+                .status(TaskStatus.PENDING)
+                .createdId(1L)
+                .parent(savedTask)
+                .children(new ArrayList<>())
+                .build());
+
+        TaskRequestDTO updateRequest = TaskRequestDTO.builder()
+                .title(savedTask.getTitle())
+                .status(savedTask.getStatus())
+                .creatorId(1L)
+                .parentCode(child.getCode())
+                .build();
+
+        mockMvc.perform(put("/api/tasks/{code}", savedTask.getCode())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should update task when If-Match names its current version, and send the next one")
+    void updateTask_CurrentETag_ReturnsOk() throws Exception {
+        validTaskRequest.setTitle("Updated under If-Match");
+
+        mockMvc.perform(put("/api/tasks/{code}", savedTask.getCode())
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validTaskRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.title").value("Updated under If-Match"));
+    }
+
+    @Test
+    @DisplayName("Should return 412 and keep the task when If-Match names another version")
+    void updateTask_StaleETag_ReturnsPreconditionFailed() throws Exception {
+        validTaskRequest.setTitle("Lost update");
+
+        mockMvc.perform(put("/api/tasks/{code}", savedTask.getCode())
+                        .header("If-Match", "\"5\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validTaskRequest)))
+                .andExpect(status().isPreconditionFailed());
+
+        assertEquals("Existing Task", taskRepository.findByCode(savedTask.getCode()).orElseThrow().getTitle());
+    }
+
+    @Test
+    @DisplayName("Should return 412 when If-Match is not an ETag of a task")
+    void updateTask_ForeignETag_ReturnsPreconditionFailed() throws Exception {
+        mockMvc.perform(put("/api/tasks/{code}", savedTask.getCode())
+                        .header("If-Match", "W/\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validTaskRequest)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     @DisplayName("Should return 404 when updating non-existent task")
     void updateTask_TaskNotFound_ReturnsNotFound() throws Exception {
@@ -347,6 +653,168 @@ class TaskControllerIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    // ========== PATCH /api/tasks/{code} - Patch Task Tests ==========
+
+    @Test
+    @DisplayName("Should change only the fields sent")
+    void patchTask_StatusOnly_ReturnsOk() throws Exception {
+        mockMvc.perform(patch("/api/tasks/{code}", savedTask.getCode())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"status\": \"IN_PROGRESS\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.title").value("Existing Task"))
+                .andExpect(jsonPath("$.description").value("An existing task"))
+                .andExpect(jsonPath("$.tags").value("existing"));
+
+        Task patchedTask = taskRepository.findByCode(savedTask.getCode()).orElseThrow();
+        assertEquals(TaskStatus.IN_PROGRESS, patchedTask.getStatus());
+        assertEquals("MEDIUM", patchedTask.getPriority());
+    }
+
+    @Test
+    @DisplayName("Should clear a field sent as null")
+    void patchTask_NullDescription_ClearsIt() throws Exception {
+        mockMvc.perform(patch("/api/tasks/{code}", savedTask.getCode())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\": null}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value(nullValue()))
+                .andExpect(jsonPath("$.title").value("Existing Task"));
+    }
+
+    @Test
+    @DisplayName("Should move a task below the parent sent")
+    void patchTask_WithParent_ReturnsOk() throws Exception {
+        Task parent = taskRepository.save(Task.builder()
+                .code("PA-01-patch")
+                .title("Parent")
+                .status(TaskStatus.PENDING)
+                .createdId(1L)
+                .build());
+
+        mockMvc.perform(patch("/api/tasks/{code}", savedTask.getCode())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"parentCode\": \"" + parent.getCode() + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.parentCode").value(parent.getCode()))
+                .andExpect(jsonPath("$.hierarchyLevel").value(2))
+                .andExpect(jsonPath("$.title").value("Existing Task"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when a required field is sent as null or blank")
+    void patchTask_NullStatusOrBlankTitle_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/tasks/{code}", savedTask.getCode())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": null}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(patch("/api/tasks/{code}", savedTask.getCode())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \" \"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return 412 when If-Match names another version")
+    void patchTask_StaleETag_ReturnsPreconditionFailed() throws Exception {
+        mockMvc.perform(patch("/api/tasks/{code}", savedTask.getCode())
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"IN_PROGRESS\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("Should return 404 when patching non-existent task")
+    void patchTask_TaskNotFound_ReturnsNotFound() throws Exception {
+        mockMvc.perform(patch("/api/tasks/{code}", "NON-EXISTENT")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"IN_PROGRESS\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    // ========== PATCH /api/tasks/bulk - Bulk Update Tests ==========
+
+    @Test
+    @DisplayName("Should bulk update tasks by code and count only changed tasks")
+    void updateTasks_ByCodes_ReturnsCounts() throws Exception {
+        Task other = taskRepository.save(Task.builder()
+                .code("TS-02-test2")
+                .title("Other Task")
+                .status(TaskStatus.IN_PROGRESS)
+                .createdId(1L)
+                .children(new ArrayList<>())
+                .build());
+        LocalDateTime otherUpdatedAt = taskRepository.findByCode(other.getCode()).orElseThrow().getUpdatedAt();
+
+        TaskBulkUpdateDTO update = TaskBulkUpdateDTO.builder()
+                .codes(List.of(savedTask.getCode(), other.getCode(), "NO-00-none"))
+                .status(TaskStatus.IN_PROGRESS)
+                .build();
+
+        mockMvc.perform(patch("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(2))
+                .andExpect(jsonPath("$.updated").value(1));
+
+        assertEquals(TaskStatus.IN_PROGRESS, taskRepository.findByCode(savedTask.getCode()).orElseThrow().getStatus());
+        // Already IN_PROGRESS: left untouched, like an unchanged entity
+        assertEquals(otherUpdatedAt, taskRepository.findByCode(other.getCode()).orElseThrow().getUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("Should bulk reassign all children of a parent")
+    void updateTasks_ByParent_UpdatesChildrenOnly() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            Task child = Task.builder()
+                    .code("CH-0" + i + "-chld")
+                    .title("Child " + i)
+                    .status(TaskStatus.PENDING)
+                    .createdId(1L)
+                    .children(new ArrayList<>())
+                    .build();
+            child.setParent(savedTask);
+            taskRepository.save(child);
+        }
+
+        TaskBulkUpdateDTO update = TaskBulkUpdateDTO.builder()
+                .parentCode(savedTask.getCode())
+                .assigneeId(9L)
+                .priority("LOW")
+                .build();
+
+        mockMvc.perform(patch("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(3))
+                .andExpect(jsonPath("$.updated").value(3));
+
+        assertTrue(taskRepository.findByParentCode(savedTask.getCode()).stream()
+                .allMatch(child -> child.getAssignedId() == 9L && "LOW".equals(child.getPriority())));
+        assertEquals(2L, taskRepository.findByCode(savedTask.getCode()).orElseThrow().getAssignedId());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when a bulk update selects by both codes and parent")
+    void updateTasks_AmbiguousSelection_ReturnsBadRequest() throws Exception {
+        TaskBulkUpdateDTO update = TaskBulkUpdateDTO.builder()
+                .codes(List.of(savedTask.getCode()))
+                .parentCode(savedTask.getCode())
+                .status(TaskStatus.IN_PROGRESS)
+                .build();
+
+        mockMvc.perform(patch("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isBadRequest());
+    }
+
     // ========== DELETE /api/tasks/{code} - Delete Task Tests ==========
 
     @Test
@@ -387,6 +855,51 @@ class TaskControllerIntegrationTest {
         assertTrue(taskRepository.findByCode(savedTask.getCode()).isPresent());
     }
 
+    @Test
+    @DisplayName("Should delete a task with its whole subtree when cascading")
+    void deleteTask_Cascade_DeletesSubtree() throws Exception {
+        Task sibling = taskRepository.save(Task.builder()
+                .code("TS-02-test2")
+                .title("Sibling")
+                .status(TaskStatus.PENDING)
+                .createdId(1L)
+                .children(new ArrayList<>())
+                .build());
+        Task parent = savedTask;
+        for (int level = 2; level <= 5; level++) {
+            for (int i = 0; i < 2; i++) {
+                Task child = Task.builder()
+                        .code("L" + level + "-0" + i + "-" + parent.getCode().substring(6))
+                        .title("Level " + level)
+                        .status(TaskStatus.PENDING)
+                        .createdId(1L)
+                        .children(new ArrayList<>())
+                        .build();
+                child.setParent(parent);
+                taskRepository.save(child);
+                if (i == 1) {
+                    parent = child;
+                }
+            }
+        }
+        assertEquals(10, taskRepository.count());
+
+        mockMvc.perform(delete("/api/tasks/{code}", savedTask.getCode())
+                        .param("cascade", "true"))
+                .andExpect(status().isNoContent());
+
+        assertEquals(1, taskRepository.count());
+        assertTrue(taskRepository.findByCode(sibling.getCode()).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should return 404 when cascading delete of non-existent task")
+    void deleteTask_CascadeTaskNotFound_ReturnsNotFound() throws Exception {
+        mockMvc.perform(delete("/api/tasks/{code}", "NON-EXISTENT")
+                        .param("cascade", "true"))
+                .andExpect(status().isNotFound());
+    }
+
     // ========== GET /api/tasks/{code}/children - Get Child Tasks Tests ==========
 
     @Test
@@ -441,6 +954,102 @@ class TaskControllerIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    // ========== GET /api/tasks/{code}/subtree - Get Subtree Tests ==========
+
+    @Test
+    @DisplayName("Should get the whole subtree as a nested tree")
+    void getSubtree_WithDescendants_ReturnsTree() throws Exception {
+        Task childA = taskRepository.save(Task.builder()
+                .code("CH-01-childa")
+                .title("Child A")
+                .status(TaskStatus.PENDING)
+                .createdId(1L)
+                .parent(savedTask)
+                .children(new ArrayList<>())
+                .build());
+        taskRepository.save(Task.builder()
+                .code("CH-02-childb")
+                .title("Child B")
+                .status(TaskStatus.PENDING)
+                .createdId(1L)
+                .parent(savedTask)
+                .children(new ArrayList<>())
+                .build());
+        taskRepository.save(Task.builder()
+                .code("GC-01-grand")
+                .title("Grandchild")
+                .status(TaskStatus.PENDING)
+                .createdId(1L)
+                .parent(childA)
+                .children(new ArrayList<>())
+                .build());
+
+        mockMvc.perform(get("/api/tasks/{code}/subtree", savedTask.getCode()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.task.code").value(savedTask.getCode()))
+                .andExpect(jsonPath("$.task.childCodes.length()").value(2))
+                .andExpect(jsonPath("$.children.length()").value(2))
+                .andExpect(jsonPath("$.children[0].task.code").value("CH-01-childa"))
+                .andExpect(jsonPath("$.children[0].children[0].task.code").value("GC-01-grand"))
+                .andExpect(jsonPath("$.children[0].children[0].task.hierarchyLevel").value(3))
+                .andExpect(jsonPath("$.children[1].task.code").value("CH-02-childb"))
+                .andExpect(jsonPath("$.children[1].children.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("Should limit the subtree depth but still report child codes")
+    void getSubtree_WithMaxDepth_ReturnsLimitedTree() throws Exception {
+        Task child = taskRepository.save(Task.builder()
+                .code("CH-01-child")
+                .title("Child")
+                .status(TaskStatus.PENDING)
+                .createdId(1L)
+                .parent(savedTask)
+                .children(new ArrayList<>())
+                .build());
+        taskRepository.save(Task.builder()
+                .code("GC-01-grand")
+                .title("Grandchild")
+                .status(TaskStatus.PENDING)
+                .createdId(1L)
+                .parent(child)
+                .children(new ArrayList<>())
+                .build());
+
+        mockMvc.perform(get("/api/tasks/{code}/subtree", savedTask.getCode())
+                        .param("maxDepth", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.children.length()").value(1))
+                .andExpect(jsonPath("$.children[0].task.childCodes[0]").value("GC-01-grand"))
+                .andExpect(jsonPath("$.children[0].children.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("Should return the whole subtree for a maxDepth beyond the deepest level")
+    void getSubtree_HugeMaxDepth_ReturnsWholeTree() throws Exception {
+        taskRepository.save(Task.builder()
+                .code("CH-01-child")
+                .title("Child")
+                .status(TaskStatus.PENDING)
+                .createdId(1L)
+                .parent(savedTask)
+                .children(new ArrayList<>())
+                .build());
+
+        mockMvc.perform(get("/api/tasks/{code}/subtree", savedTask.getCode())
+                        .param("maxDepth", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.children.length()").value(1))
+                .andExpect(jsonPath("$.children[0].task.code").value("CH-01-child"));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for the subtree of an unknown task")
+    void getSubtree_TaskNotFound_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/tasks/{code}/subtree", "NON-EXISTENT"))
+                .andExpect(status().isNotFound());
+    }
+
     // ========== GET /api/tasks/root - Get Root Tasks Tests ==========
 
     @Test
@@ -516,6 +1125,30 @@ class TaskControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].code").value("PR-01-parent"));
     }
 
+    @Test
+    @DisplayName("Should page through root tasks in creation order")
+    void getRootTasks_WithPage_ReturnsPage() throws Exception {
+        for (int i = 1; i <= 4; i++) {
+            taskRepository.save(Task.builder()
+                    .code(String.format("RT-%02d-root%d", i, i))
+                    .title("Root Task " + i)
+                    .status(TaskStatus.PENDING)
+                    .createdId(1L)
+                    .children(new ArrayList<>())
+                    .build());
+        }
+
+        mockMvc.perform(get("/api/tasks/root")
+                        .param("page", "1")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].code").value("RT-02-root2"))
+                .andExpect(jsonPath("$.content[1].code").value("RT-03-root3"))
+                .andExpect(jsonPath("$.totalElements").value(5))
+                .andExpect(jsonPath("$.totalPages").value(3));
+    }
+
     // ========== Complex Scenarios ==========
 
     @Test
@@ -0,0 +1,145 @@
+package com.test.test.dto_integration_test;
+
+import com.test.test.TestApplication;
+import com.test.test.dto.UniqueCodeGenerator;
+import com.test.test.repository.CodeSequenceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs several application nodes against one shared H2 database and checks
+ * that the codes they issue from leased blocks never overlap.
+ */
+@DisplayName("Code block leasing Integration Tests")
+class CodeBlockLeasingIntegrationTest {
+
+    private static final int NODES = 3;
+    private static final int THREADS_PER_NODE = 4;
+    private static final int CODES_PER_THREAD = 2_000;
+    private static final int BLOCK_SIZE = 50;
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void startNodes() {
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(startNode());
+        }
+    }
+
+    private ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(TestApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:code-leasing;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--task.code.strategy=LEASED_BLOCKS",
+                        "--task.code.lease-block-size=" + BLOCK_SIZE);
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    @DisplayName("Should issue disjoint codes from every node sharing the database")
+    void leasedBlocks_MultipleNodes_NoDuplicates() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(NODES * THREADS_PER_NODE);
+        Set<String> allCodes = ConcurrentHashMap.newKeySet();
+        List<Future<?>> results = new ArrayList<>();
+
+        // When
+        for (ConfigurableApplicationContext node : nodes) {
+            UniqueCodeGenerator generator = node.getBean(UniqueCodeGenerator.class);
+            for (int t = 0; t < THREADS_PER_NODE; t++) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < CODES_PER_THREAD; i++) {
+                        String code = generator.generateCode();
+                        assertTrue(generator.validateCodeFormat(code), "Invalid code: " + code);
+                        assertTrue(allCodes.add(code), "Duplicate code: " + code);
+                    }
+                }));
+            }
+        }
+        for (Future<?> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        int total = NODES * THREADS_PER_NODE * CODES_PER_THREAD;
+        assertEquals(total, allCodes.size());
+
+        // Every node only reports the codes it issued itself
+        long reported = nodes.stream()
+                .mapToLong(node -> node.getBean(UniqueCodeGenerator.class).getAllCodes().count())
+                .sum();
+        assertEquals(total, reported);
+
+        // Leases are whole blocks and no block was handed out twice
+        Long leased = nodes.get(0).getBean(CodeSequenceRepository.class).findNextValue("task_code");
+        assertNotNull(leased);
+        assertEquals(0, leased % BLOCK_SIZE);
+        assertTrue(leased >= total);
+    }
+
+    @Test
+    @DisplayName("Should not reissue codes after a node restarts")
+    void leasedBlocks_NodeRestart_ContinuesAfterLeasedRange() {
+        // Given
+        UniqueCodeGenerator first = nodes.get(0).getBean(UniqueCodeGenerator.class);
+        Set<String> beforeRestart = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < BLOCK_SIZE * 2; i++) {
+            beforeRestart.add(first.generateCode());
+        }
+
+        // When
+        nodes.get(0).close();
+        nodes.set(0, startNode());
+        UniqueCodeGenerator restarted = nodes.get(0).getBean(UniqueCodeGenerator.class);
+
+        // Then
+        for (int i = 0; i < BLOCK_SIZE * 2; i++) {
+            assertFalse(beforeRestart.contains(restarted.generateCode()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should not reissue imported codes after a restart on an empty sequence")
+    void leasedBlocks_RegisteredCodes_NotIssuedAgain() {
+        // Given: codes issued by a node, exported, and the sequence lost with the database
+        CodeSequenceRepository sequences = nodes.get(0).getBean(CodeSequenceRepository.class);
+        sequences.deleteAll();
+        List<String> exported = nodes.get(0).getBean(UniqueCodeGenerator.class).generateCodes(BLOCK_SIZE * 3);
+        sequences.deleteAll();
+        nodes.get(0).close();
+        nodes.set(0, startNode());
+        UniqueCodeGenerator restarted = nodes.get(0).getBean(UniqueCodeGenerator.class);
+
+        // When
+        restarted.registerCodes(exported);
+
+        // Then: every node leases blocks after the imported codes
+        for (ConfigurableApplicationContext node : nodes) {
+            List<String> issued = node.getBean(UniqueCodeGenerator.class).generateCodes(BLOCK_SIZE * 2);
+            assertTrue(issued.stream().noneMatch(exported::contains));
+        }
+    }
+}
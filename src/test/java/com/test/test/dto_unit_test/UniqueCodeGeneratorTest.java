@@ -0,0 +1,245 @@
+package com.test.test.dto_unit_test;
+
+import com.test.test.dto.CodeBlockSource;
+import com.test.test.dto.UniqueCodeGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("UniqueCodeGenerator Unit Tests")
+class UniqueCodeGeneratorTest {
+
+    private static final int THREADS = 32;
+    private static final int CODES_PER_THREAD = 10_000;
+
+    private UniqueCodeGenerator codeGenerator;
+
+    @BeforeEach
+    void setUp() {
+        codeGenerator = new UniqueCodeGenerator();
+    }
+
+    @Test
+    @DisplayName("Should generate codes matching the AA-NN-xxxx format")
+    void generateCode_MatchesFormat() {
+        for (int i = 0; i < 1_000; i++) {
+            String code = codeGenerator.generateCode();
+            assertTrue(codeGenerator.validateCodeFormat(code), "Invalid code: " + code);
+            assertTrue(codeGenerator.codeExists(code));
+        }
+    }
+
+    @Test
+    @DisplayName("Should not hand out a registered code")
+    void generateCode_SkipsRegisteredCodes() {
+        // Given
+        codeGenerator.registerCode("AB-12-xyz1");
+
+        // When
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 1_000; i++) {
+            codes.add(codeGenerator.generateCode());
+        }
+
+        // Then
+        assertFalse(codes.contains("AB-12-xyz1"));
+        assertEquals(1_001, codeGenerator.getAllCodes().count());
+    }
+
+    @Test
+    @DisplayName("Should track registered codes and ignore malformed ones")
+    void registerCode_TracksValidCodesOnly() {
+        // When
+        codeGenerator.registerCode("AB-12-xyz1");
+        codeGenerator.registerCode("ab-12-XYZ1");
+        codeGenerator.registerCode(null);
+
+        // Then
+        assertTrue(codeGenerator.codeExists("AB-12-xyz1"));
+        assertFalse(codeGenerator.codeExists("AB-12-xyz2"));
+        assertFalse(codeGenerator.codeExists("ab-12-XYZ1"));
+        assertEquals(List.of("AB-12-xyz1"), codeGenerator.getAllCodes().collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Should generate zero duplicates under high concurrency")
+    void generateCode_ConcurrentCallers_NoDuplicates() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        Set<String> allCodes = ConcurrentHashMap.newKeySet();
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < THREADS; t++) {
+            results.add(executor.submit(() -> {
+                startGate.await();
+                int duplicates = 0;
+                for (int i = 0; i < CODES_PER_THREAD; i++) {
+                    if (!allCodes.add(codeGenerator.generateCode())) {
+                        duplicates++;
+                    }
+                }
+                return duplicates;
+            }));
+        }
+        startGate.countDown();
+
+        int duplicates = 0;
+        for (Future<Integer> result : results) {
+            duplicates += result.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(0, duplicates);
+        assertEquals(THREADS * CODES_PER_THREAD, allCodes.size());
+        assertEquals(THREADS * CODES_PER_THREAD, codeGenerator.getAllCodes().count());
+        assertTrue(allCodes.stream().allMatch(codeGenerator::validateCodeFormat));
+    }
+
+    // ========== PERMUTED_SEQUENCE strategy ==========
+
+    @Test
+    @DisplayName("Should issue valid, distinct codes from the permuted sequence")
+    void permutedSequence_IssuesValidDistinctCodes() {
+        // Given
+        UniqueCodeGenerator sequenced = new UniqueCodeGenerator(UniqueCodeGenerator.Strategy.PERMUTED_SEQUENCE, 42L);
+        Set<String> codes = new HashSet<>();
+
+        // When
+        for (int i = 0; i < 200_000; i++) {
+            codes.add(sequenced.generateCode());
+        }
+
+        // Then
+        assertEquals(200_000, codes.size());
+        assertTrue(codes.stream().allMatch(sequenced::validateCodeFormat));
+        assertTrue(codes.stream().allMatch(sequenced::codeExists));
+        assertEquals(codes, sequenced.getAllCodes().collect(Collectors.toSet()));
+
+        // The next code of the same sequence has not been issued yet
+        UniqueCodeGenerator twin = new UniqueCodeGenerator(UniqueCodeGenerator.Strategy.PERMUTED_SEQUENCE, 42L);
+        String next = null;
+        for (int i = 0; i <= 200_000; i++) {
+            next = twin.generateCode();
+        }
+        assertFalse(codes.contains(next));
+        assertFalse(sequenced.codeExists(next));
+    }
+
+    @Test
+    @DisplayName("Should depend on the permutation key")
+    void permutedSequence_DifferentKeys_DifferentCodes() {
+        UniqueCodeGenerator first = new UniqueCodeGenerator(UniqueCodeGenerator.Strategy.PERMUTED_SEQUENCE, 1L);
+        UniqueCodeGenerator second = new UniqueCodeGenerator(UniqueCodeGenerator.Strategy.PERMUTED_SEQUENCE, 2L);
+
+        assertNotEquals(first.generateCode(), second.generateCode());
+    }
+
+    @Test
+    @DisplayName("Should generate zero duplicates from the permuted sequence under high concurrency")
+    void permutedSequence_ConcurrentCallers_NoDuplicates() throws Exception {
+        // Given
+        UniqueCodeGenerator sequenced = new UniqueCodeGenerator(UniqueCodeGenerator.Strategy.PERMUTED_SEQUENCE, 7L);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        Set<String> allCodes = ConcurrentHashMap.newKeySet();
+        List<Future<?>> results = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < THREADS; t++) {
+            results.add(executor.submit(() -> {
+                for (int i = 0; i < CODES_PER_THREAD; i++) {
+                    allCodes.add(sequenced.generateCode());
+                }
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(THREADS * CODES_PER_THREAD, allCodes.size());
+    }
+
+    @Test
+    @DisplayName("Should issue a run of codes continuing the permuted sequence")
+    void permutedSequence_GenerateCodes_ContinuesSequence() {
+        // Given
+        UniqueCodeGenerator bulk = new UniqueCodeGenerator(UniqueCodeGenerator.Strategy.PERMUTED_SEQUENCE, 42L);
+        UniqueCodeGenerator single = new UniqueCodeGenerator(UniqueCodeGenerator.Strategy.PERMUTED_SEQUENCE, 42L);
+
+        // When
+        List<String> codes = bulk.generateCodes(1_000);
+        String next = bulk.generateCode();
+
+        // Then
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            expected.add(single.generateCode());
+        }
+        assertEquals(expected, codes);
+        assertEquals(single.generateCode(), next);
+        assertTrue(codes.stream().allMatch(bulk::codeExists));
+    }
+
+    @Test
+    @DisplayName("Should not reissue registered codes of the permuted sequence after a restart")
+    void permutedSequence_RegisteredCodes_NotIssuedAgain() {
+        // Given: codes issued before a restart, then imported into the restarted node
+        UniqueCodeGenerator before = new UniqueCodeGenerator(UniqueCodeGenerator.Strategy.PERMUTED_SEQUENCE, 42L);
+        List<String> exported = before.generateCodes(500);
+        UniqueCodeGenerator restarted = new UniqueCodeGenerator(UniqueCodeGenerator.Strategy.PERMUTED_SEQUENCE, 42L);
+
+        // When
+        restarted.registerCodes(exported);
+
+        // Then: the counter continues after the highest imported code
+        assertTrue(exported.stream().allMatch(restarted::codeExists));
+        assertEquals(before.generateCode(), restarted.generateCode());
+        assertTrue(restarted.generateCodes(1_000).stream().noneMatch(exported::contains));
+    }
+
+    @Test
+    @DisplayName("Should reject the permuted sequence with a persistent datasource")
+    void permutedSequence_PersistentDatasource_Rejected() {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<CodeBlockSource> noBlockSource = mock(ObjectProvider.class);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new UniqueCodeGenerator(UniqueCodeGenerator.Strategy.PERMUTED_SEQUENCE, 42L,
+                        noBlockSource, 1000, "jdbc:h2:file:./data/taskdb"));
+
+        assertTrue(exception.getMessage().contains("LEASED_BLOCKS"));
+        assertDoesNotThrow(() -> new UniqueCodeGenerator(UniqueCodeGenerator.Strategy.PERMUTED_SEQUENCE, 42L,
+                noBlockSource, 1000, "jdbc:h2:mem:taskdb"));
+        assertDoesNotThrow(() -> new UniqueCodeGenerator(UniqueCodeGenerator.Strategy.RANDOM, 42L,
+                noBlockSource, 1000, "jdbc:h2:file:./data/taskdb"));
+    }
+
+    @Test
+    @DisplayName("Should issue distinct random codes in bulk")
+    void generateCodes_Random_DistinctCodes() {
+        List<String> codes = codeGenerator.generateCodes(5_000);
+
+        assertEquals(5_000, new HashSet<>(codes).size());
+        assertEquals(5_000, codeGenerator.getAllCodes().count());
+    }
+}
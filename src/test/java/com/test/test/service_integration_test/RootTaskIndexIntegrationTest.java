@@ -0,0 +1,126 @@
+package com.test.test.service_integration_test;
+
+import com.test.test.dto.TaskBulkUpdateDTO;
+import com.test.test.dto.TaskResponseDTO;
+import com.test.test.dto.TaskView;
+import com.test.test.entity.TaskStatus;
+import com.test.test.repository.TaskRepository;
+import com.test.test.service.RootTaskIndex;
+import com.test.test.service.TaskService;
+import com.test.test.support.QueryStatisticsTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.test.test.support.TaskFixtures.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keeps the root task index loaded across committed writes and compares it with the database.
+ */
+@QueryStatisticsTest
+@DisplayName("RootTaskIndex Integration Tests")
+class RootTaskIndexIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private RootTaskIndex rootTaskIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        rootTaskIndex.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        taskService.getRootTasks();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAll();
+        rootTaskIndex.clear();
+    }
+
+    private String create(String title, String parentCode) {
+        return taskService.createTask(request(title, parentCode)).getCode();
+    }
+
+    /**
+     * Root tasks from the index, checked against a fresh read of the database
+     */
+    private Map<String, TaskResponseDTO> roots() {
+        statistics.clear();
+        List<TaskResponseDTO> indexed = taskService.getRootTasks();
+        assertTrue(rootTaskIndex.isLoaded());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        List<String> stored = taskRepository.findRootViews().stream()
+                .map(TaskView::code)
+                .sorted()
+                .toList();
+        assertEquals(stored, indexed.stream().map(TaskResponseDTO::getCode).sorted().toList());
+        return indexed.stream().collect(Collectors.toMap(TaskResponseDTO::getCode, Function.identity()));
+    }
+
+    @Test
+    @DisplayName("Should follow creates, moves and deletes of root tasks")
+    void writes_KeepIndexCurrent() {
+        String first = create("First", null);
+        String second = create("Second", null);
+        assertEquals(2, roots().size());
+
+        String child = create("Child", first);
+        assertEquals(List.of(child), roots().get(first).getChildCodes());
+
+        // A root moves below another root, then back to the top
+        taskService.updateTask(second, request("Second", first));
+        assertFalse(roots().containsKey(second));
+        assertEquals(2, roots().get(first).getChildCodes().size());
+
+        taskService.updateTask(second, request("Second again", null));
+        assertEquals("Second again", roots().get(second).getTitle());
+
+        taskService.deleteTask(child);
+        assertTrue(roots().get(first).getChildCodes().isEmpty());
+
+        taskService.deleteTask(second);
+        assertEquals(List.of(first), List.copyOf(roots().keySet()));
+    }
+
+    @Test
+    @DisplayName("Should follow bulk updates and subtree deletes")
+    void bulkWrites_KeepIndexCurrent() {
+        String root = create("Root", null);
+        String child = create("Child", root);
+        create("Grandchild", child);
+
+        taskService.updateTasks(TaskBulkUpdateDTO.builder().codes(List.of(root, child))
+                .status(TaskStatus.IN_PROGRESS).build());
+        assertEquals(TaskStatus.IN_PROGRESS, roots().get(root).getStatus());
+
+        taskService.deleteSubtree(child);
+        assertTrue(roots().get(root).getChildCodes().isEmpty());
+
+        taskService.deleteSubtree(root);
+        assertTrue(roots().isEmpty());
+    }
+}
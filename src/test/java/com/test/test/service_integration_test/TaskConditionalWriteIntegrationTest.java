@@ -0,0 +1,99 @@
+package com.test.test.service_integration_test;
+
+import com.test.test.dto.TaskPatchDTO;
+import com.test.test.dto.TaskResponseDTO;
+import com.test.test.exeception.PreconditionFailedException;
+import com.test.test.repository.TaskRepository;
+import com.test.test.service.TaskResponseCache;
+import com.test.test.service.TaskService;
+import com.test.test.support.QueryStatisticsTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static com.test.test.support.TaskFixtures.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Interleaves two writes that carry the same expected version: the second one
+ * passes the version check before the first one commits, and only the UPDATE's
+ * own version check can catch it.
+ */
+@QueryStatisticsTest
+@DisplayName("Conditional task write Integration Tests")
+class TaskConditionalWriteIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskResponseCache taskResponseCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String code;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        taskResponseCache.clear();
+        code = taskService.createTask(request("Original")).getCode();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAll();
+        taskResponseCache.clear();
+    }
+
+    /**
+     * Loads the task at version 0 in a transaction, lets another write under
+     * If-Match "0" commit, then makes the second write in the first transaction.
+     */
+    private PreconditionFailedException interleave(Runnable secondWrite) {
+        return transactionTemplate.execute(status -> {
+            assertEquals(0L, taskRepository.findByCode(code).orElseThrow().getVersion());
+
+            TaskResponseDTO first = CompletableFuture
+                    .supplyAsync(() -> taskService.updateTask(code, request("First"), 0L))
+                    .join();
+            assertEquals(1L, first.getVersion());
+
+            PreconditionFailedException exception = assertThrows(PreconditionFailedException.class, secondWrite::run);
+            status.setRollbackOnly();
+            return exception;
+        });
+    }
+
+    @Test
+    @DisplayName("Should fail the second of two interleaved PUTs with If-Match as a precondition")
+    void updateTask_InterleavedIfMatch_SecondFailsPrecondition() {
+        PreconditionFailedException exception = interleave(
+                () -> taskService.updateTask(code, request("Second"), 0L));
+
+        assertTrue(exception.getMessage().contains("version 0"));
+        TaskResponseDTO stored = taskService.getTaskByCode(code);
+        assertEquals("First", stored.getTitle());
+        assertEquals(1L, stored.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should fail the second of two interleaved PATCHes with If-Match as a precondition")
+    void patchTask_InterleavedIfMatch_SecondFailsPrecondition() {
+        TaskPatchDTO patch = TaskPatchDTO.builder().title(Optional.of("Second")).build();
+
+        interleave(() -> taskService.patchTask(code, patch, 0L));
+
+        assertEquals("First", taskService.getTaskByCode(code).getTitle());
+    }
+}
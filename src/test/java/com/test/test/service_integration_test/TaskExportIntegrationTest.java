@@ -0,0 +1,107 @@
+package com.test.test.service_integration_test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.test.dto.TaskResponseDTO;
+import com.test.test.entity.Task;
+import com.test.test.repository.TaskRepository;
+import com.test.test.service.TaskService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.test.test.support.TaskFixtures.task;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exports tasks as NDJSON through the streaming read path.
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=INFO"})
+@Transactional
+@DisplayName("TaskService export Integration Tests")
+class TaskExportIntegrationTest {
+
+    private static final int ROOT_TASKS = 20;
+    private static final int CHILDREN_PER_ROOT = 3;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        for (int i = 0; i < ROOT_TASKS; i++) {
+            Task root = taskRepository.save(task(String.format("RT-%02d-root", i), null));
+            for (int c = 0; c < CHILDREN_PER_ROOT; c++) {
+                Task child = taskRepository.save(task(String.format("CH-%02d-ch%02d", c, i), root));
+                // Grandchildren created before their parent's siblings still come after their parent
+                if (c == 0) {
+                    taskRepository.save(task(String.format("GC-%02d-gc%02d", c, i), child));
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should write one JSON line per task, parents first")
+    void exportTasks_WritesEveryTaskParentsFirst() throws Exception {
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = taskService.exportTasks(out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(ROOT_TASKS * (2 + CHILDREN_PER_ROOT), exported);
+        assertEquals(exported, lines.length);
+
+        Set<String> written = new HashSet<>();
+        for (String line : lines) {
+            TaskResponseDTO dto = objectMapper.readValue(line, TaskResponseDTO.class);
+            assertTrue(dto.getParentCode() == null || written.contains(dto.getParentCode()),
+                    dto.getCode() + " exported before its parent");
+            written.add(dto.getCode());
+        }
+    }
+
+    @Test
+    @DisplayName("Should not keep exported tasks in the persistence context")
+    void exportTasks_DetachesWrittenTasks() throws Exception {
+        // When
+        taskService.exportTasks(new ByteArrayOutputStream());
+
+        // Then
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("Should write nothing when there are no tasks")
+    void exportTasks_NoTasks_WritesNothing() throws Exception {
+        taskRepository.deleteAll();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = taskService.exportTasks(out);
+
+        assertEquals(0, exported);
+        assertEquals(0, out.size());
+    }
+}
@@ -0,0 +1,92 @@
+package com.test.test.service_integration_test;
+
+import com.test.test.dto.TaskRequestDTO;
+import com.test.test.dto.TaskResponseDTO;
+import com.test.test.exeception.ResourceNotFoundException;
+import com.test.test.repository.TaskRepository;
+import com.test.test.service.TaskCreateBatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.test.test.support.TaskFixtures.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Creates tasks from many threads at once with group commit enabled.
+ */
+@SpringBootTest(properties = {
+        "task.write.group-commit.enabled=true",
+        "task.write.group-commit.linger=20ms"
+})
+@DisplayName("Task group commit Integration Tests")
+class TaskGroupCommitIntegrationTest {
+
+    private static final int CREATES = 200;
+
+    @Autowired
+    private TaskCreateBatcher taskCreateBatcher;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should commit concurrent creates together, answering each caller on its own")
+    void create_ConcurrentRequests_CommittedInBatches() throws Exception {
+        String parent = taskCreateBatcher.create(request("Parent", null)).getCode();
+        long batchesBefore = taskCreateBatcher.getBatchCount();
+
+        List<Object> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < CREATES; i++) {
+                // Every 50th create names a parent that does not exist
+                TaskRequestDTO create = i % 50 == 0
+                        ? request("Orphan " + i, "ZZ-99-none")
+                        : request("Child " + i, parent);
+                futures.add(executor.submit(() -> {
+                    try {
+                        return taskCreateBatcher.create(create);
+                    } catch (ResourceNotFoundException e) {
+                        return e;
+                    }
+                }));
+            }
+            for (Future<Object> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+        }
+
+        List<String> codes = results.stream()
+                .filter(TaskResponseDTO.class::isInstance)
+                .map(result -> ((TaskResponseDTO) result).getCode())
+                .toList();
+        assertEquals(CREATES / 50, results.stream().filter(ResourceNotFoundException.class::isInstance).count());
+        assertEquals(CREATES - CREATES / 50, codes.stream().distinct().count());
+        assertEquals(codes.size(), taskRepository.countByParentCode(parent));
+        assertEquals(codes.size(), taskRepository.countByCodeIn(codes));
+
+        long batches = taskCreateBatcher.getBatchCount() - batchesBefore;
+        assertTrue(batches < CREATES / 4, "Expected far fewer commits than creates, got " + batches);
+    }
+}
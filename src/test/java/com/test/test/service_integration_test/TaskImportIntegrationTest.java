@@ -0,0 +1,285 @@
+package com.test.test.service_integration_test;
+
+import com.test.test.dto.TaskImportDTO;
+import com.test.test.dto.TaskRequestDTO;
+import com.test.test.dto.TaskResponseDTO;
+import com.test.test.dto.UniqueCodeGenerator;
+import com.test.test.entity.Task;
+import com.test.test.entity.TaskImport;
+import com.test.test.entity.TaskImportFormat;
+import com.test.test.entity.TaskImportStatus;
+import com.test.test.entity.TaskStatus;
+import com.test.test.exeception.ValidationException;
+import com.test.test.repository.TaskImportRepository;
+import com.test.test.repository.TaskRepository;
+import com.test.test.service.TaskImportService;
+import com.test.test.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Imports NDJSON and CSV files in committed chunks of three records; codes are
+ * generated from the permuted sequence.
+ */
+@SpringBootTest(properties = {
+        "task.import.chunk-size=3",
+        "task.code.strategy=PERMUTED_SEQUENCE",
+        "task.code.permutation-key=42",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO"
+})
+@DisplayName("TaskImportService Integration Tests")
+class TaskImportIntegrationTest {
+
+    private static Path importDirectory;
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskImportRepository taskImportRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UniqueCodeGenerator codeGenerator;
+
+    @DynamicPropertySource
+    static void importDirectory(DynamicPropertyRegistry registry) throws IOException {
+        importDirectory = Files.createTempDirectory("task-imports");
+        registry.add("task.import.directory", importDirectory::toString);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAll();
+        taskImportRepository.deleteAll();
+    }
+
+    private static String ndjsonLine(String code, String parentCode) {
+        return "{\"code\": \"" + code + "\", "
+                + (parentCode != null ? "\"parentCode\": \"" + parentCode + "\", " : "")
+                + "\"title\": \"Task " + code + "\", \"status\": \"PENDING\", \"creatorId\": 1}\n";
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON with parents in earlier chunks")
+    void importStream_Ndjson_ImportsEveryRecord() {
+        // Given: 7 records, so 3 chunks; children refer to parents of earlier chunks
+        String content = ndjsonLine("RT-01-root", null)
+                + ndjsonLine("RT-02-root", null)
+                + ndjsonLine("CH-01-chil", "RT-01-root")
+                + ndjsonLine("CH-02-chil", "RT-02-root")
+                + ndjsonLine("GC-01-gran", "CH-01-chil")
+                + ndjsonLine("GC-02-gran", "CH-02-chil")
+                + ndjsonLine("GG-01-ggch", "GC-01-gran");
+
+        // When
+        TaskImportDTO result = taskImportService.importStream("tasks.ndjson", stream(content), null);
+
+        // Then
+        assertEquals(TaskImportStatus.COMPLETED, result.getStatus());
+        assertEquals(TaskImportFormat.NDJSON, result.getFormat());
+        assertEquals(7, result.getCommittedRecords());
+        assertEquals(7, taskRepository.count());
+
+        Task greatGrandchild = taskRepository.findByCode("GG-01-ggch").orElseThrow();
+        assertEquals("GC-01-gran", greatGrandchild.getParentCode());
+        assertEquals(4, greatGrandchild.getHierarchyLevel());
+        assertEquals("/RT-01-root/CH-01-chil/GC-01-gran/", greatGrandchild.getPath());
+    }
+
+    @Test
+    @DisplayName("Should import CSV with a header row and generate missing codes")
+    void importStream_Csv_ImportsEveryRecord() {
+        String content = "code,parentCode,title,status,creatorId,assigneeId,dueDate\n"
+                + "RT-01-root,,Root,PENDING,1,,2024-01-20T17:00:00\n"
+                + ",RT-01-root,Child,IN_PROGRESS,1,2,\n";
+
+        TaskImportDTO result = taskImportService.importStream("tasks.csv", stream(content), null);
+
+        assertEquals(TaskImportStatus.COMPLETED, result.getStatus());
+        assertEquals(TaskImportFormat.CSV, result.getFormat());
+        assertEquals(2, taskRepository.count());
+        assertEquals(1, taskRepository.findByParentCode("RT-01-root").size());
+        assertEquals(2L, taskRepository.findByParentCode("RT-01-root").get(0).getAssignedId());
+    }
+
+    @Test
+    @DisplayName("Should keep committed chunks on failure and resume after them")
+    void resumeStream_AfterFailure_ContinuesAfterLastCommittedChunk() {
+        // Given: record 5 names a parent that does not exist yet
+        String content = ndjsonLine("RT-01-root", null)
+                + ndjsonLine("RT-02-root", null)
+                + ndjsonLine("RT-03-root", null)
+                + ndjsonLine("CH-01-chil", "RT-01-root")
+                + ndjsonLine("CH-02-chil", "XX-99-miss")
+                + ndjsonLine("CH-03-chil", "RT-03-root");
+
+        // When
+        TaskImportDTO failed = taskImportService.importStream("tasks.ndjson", stream(content), null);
+
+        // Then: the first chunk stays, the second one is rolled back as a whole
+        assertEquals(TaskImportStatus.FAILED, failed.getStatus());
+        assertEquals(3, failed.getCommittedRecords());
+        assertTrue(failed.getLastError().contains("Record 5"));
+        assertEquals(3, taskRepository.count());
+        assertEquals(3, taskImportService.getImport(failed.getId()).getCommittedRecords());
+
+        // When the missing parent exists, the import resumes at record 4
+        taskRepository.save(Task.builder().code("XX-99-miss").title("Missing").status(TaskStatus.PENDING)
+                .createdId(1L).build());
+        TaskImportDTO resumed = taskImportService.resumeStream(failed.getId(), stream(content));
+
+        // Then
+        assertEquals(TaskImportStatus.COMPLETED, resumed.getStatus());
+        assertEquals(6, resumed.getCommittedRecords());
+        assertNull(resumed.getLastError());
+        assertEquals(7, taskRepository.count());
+        assertThrows(ValidationException.class, () -> taskImportService.resumeStream(failed.getId(), stream(content)));
+    }
+
+    @Test
+    @DisplayName("Should not resume an import that is still running")
+    void resumeStream_WhileRunning_Rejected() {
+        String content = ndjsonLine("RT-01-root", null)
+                + ndjsonLine("RT-02-root", null)
+                + ndjsonLine("RT-03-root", null)
+                + ndjsonLine("CH-01-chil", "XX-99-miss");
+        TaskImportDTO failed = taskImportService.importStream("tasks.ndjson", stream(content), null);
+        assertEquals(TaskImportStatus.FAILED, failed.getStatus());
+
+        // Given: a first resume has claimed the import and not finished yet
+        TaskImport running = taskImportRepository.findById(failed.getId()).orElseThrow();
+        running.setStatus(TaskImportStatus.RUNNING);
+        taskImportRepository.save(running);
+
+        // Then: a second resume is rejected before it writes anything
+        assertThrows(ValidationException.class, () -> taskImportService.resumeStream(failed.getId(), stream(content)));
+        assertEquals(3, taskRepository.count());
+
+        // And progress only advances from the value the run started with
+        assertEquals(0, transactionTemplate.execute(tx ->
+                taskImportRepository.advance(failed.getId(), 0, 3, 0L, LocalDateTime.now())));
+        assertEquals(3, taskImportService.getImport(failed.getId()).getCommittedRecords());
+    }
+
+    @Test
+    @DisplayName("Should resume an import left running once its lease has expired")
+    void resumeStream_RunningWithExpiredLease_Resumed() {
+        String content = ndjsonLine("RT-01-root", null)
+                + ndjsonLine("RT-02-root", null)
+                + ndjsonLine("RT-03-root", null)
+                + ndjsonLine("CH-01-chil", "XX-99-miss");
+        TaskImportDTO failed = taskImportService.importStream("tasks.ndjson", stream(content), null);
+
+        // Given: the process running the import died an hour ago
+        jdbcTemplate.update("UPDATE task_imports SET status = 'RUNNING', updated_at = ? WHERE id = ?",
+                LocalDateTime.now().minusHours(1), failed.getId());
+        taskRepository.save(Task.builder().code("XX-99-miss").title("Missing").status(TaskStatus.PENDING)
+                .createdId(1L).build());
+
+        // When
+        TaskImportDTO resumed = taskImportService.resumeStream(failed.getId(), stream(content));
+
+        // Then
+        assertEquals(TaskImportStatus.COMPLETED, resumed.getStatus());
+        assertEquals(4, resumed.getCommittedRecords());
+        assertEquals(5, taskRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should reject a resume with a file that does not start with the committed records")
+    void resumeStream_DifferentFile_Rejected() {
+        String content = ndjsonLine("RT-01-root", null)
+                + ndjsonLine("RT-02-root", null)
+                + ndjsonLine("RT-03-root", null)
+                + ndjsonLine("CH-01-chil", "XX-99-miss");
+        TaskImportDTO failed = taskImportService.importStream("tasks.ndjson", stream(content), null);
+        assertEquals(3, failed.getCommittedRecords());
+
+        // When: a file whose first records were never imported
+        String other = ndjsonLine("OT-01-root", null)
+                + ndjsonLine("OT-02-root", null)
+                + ndjsonLine("OT-03-root", null)
+                + ndjsonLine("OT-04-root", null);
+        assertThrows(ValidationException.class, () -> taskImportService.resumeStream(failed.getId(), stream(other)));
+        assertThrows(ValidationException.class, () -> taskImportService.resumeStream(failed.getId(),
+                stream(ndjsonLine("RT-01-root", null))));
+
+        // Then: nothing was written and the import can still be resumed with its own file
+        assertEquals(3, taskRepository.count());
+        assertEquals(TaskImportStatus.FAILED, taskImportService.getImport(failed.getId()).getStatus());
+        taskRepository.save(Task.builder().code("XX-99-miss").title("Missing").status(TaskStatus.PENDING)
+                .createdId(1L).build());
+        assertEquals(TaskImportStatus.COMPLETED,
+                taskImportService.resumeStream(failed.getId(), stream(content)).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should not generate an imported code again after a restart")
+    void importStream_SequencedCodes_NotIssuedAgain() {
+        // Given: codes a previous run issued and exported, and a restarted sequence
+        List<String> exported = new UniqueCodeGenerator(UniqueCodeGenerator.Strategy.PERMUTED_SEQUENCE, 42L)
+                .generateCodes(5);
+        codeGenerator.clearAllCodes();
+        StringBuilder content = new StringBuilder();
+        exported.forEach(code -> content.append(ndjsonLine(code, null)));
+
+        // When
+        TaskImportDTO result = taskImportService.importStream("tasks.ndjson", stream(content.toString()), null);
+
+        // Then: new tasks get codes after the imported ones
+        assertEquals(TaskImportStatus.COMPLETED, result.getStatus());
+        for (int i = 0; i < 5; i++) {
+            TaskResponseDTO created = taskService.createTask(TaskRequestDTO.builder()
+                    .title("New " + i).status(TaskStatus.PENDING).creatorId(1L).build());
+            assertFalse(exported.contains(created.getCode()));
+        }
+        assertEquals(10, taskRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should import and resume local files from the import directory only")
+    void importFile_LocalPath_ReadsInsideImportDirectoryOnly() throws IOException {
+        Files.writeString(importDirectory.resolve("seed.ndjson"), ndjsonLine("RT-01-root", null));
+
+        TaskImportDTO result = taskImportService.importFile("seed.ndjson", null);
+
+        assertEquals(TaskImportStatus.COMPLETED, result.getStatus());
+        assertEquals(1, taskRepository.count());
+        assertThrows(ValidationException.class, () -> taskImportService.importFile("../outside.ndjson", null));
+    }
+}
@@ -0,0 +1,165 @@
+package com.test.test.service_integration_test;
+
+import com.test.test.dto.TaskResponseDTO;
+import com.test.test.repository.TaskRepository;
+import com.test.test.service.ReadCoalescer;
+import com.test.test.service.TaskResponseCache;
+import com.test.test.service.TaskService;
+import com.test.test.support.QueryStatisticsTest;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.test.test.support.TaskFixtures.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires many parallel reads of one task while the connection pool is held, so
+ * that every read arrives before the first one can reach the database, and
+ * counts the SQL statements that are issued once the pool is released.
+ */
+@QueryStatisticsTest
+@DisplayName("Read coalescing Integration Tests")
+class TaskReadCoalescingIntegrationTest {
+
+    private static final int PARALLEL_READS = 1000;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskResponseCache taskCache;
+
+    @Autowired
+    private ReadCoalescer readCoalescer;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String parent;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        parent = taskService.createTask(request("Popular parent", null)).getCode();
+        for (int i = 0; i < 3; i++) {
+            taskService.createTask(request("Child " + i, parent));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAll();
+        taskCache.clear();
+    }
+
+    @Test
+    @DisplayName("Should load a task once for 1,000 parallel reads of its code")
+    void getTaskByCode_ParallelReads_LoadOnce() throws Exception {
+        long statementsPerLoad = statementsOfOneRead(() -> taskService.getTaskByCode(parent));
+
+        List<TaskResponseDTO> results = readInParallel(() -> taskService.getTaskByCode(parent));
+
+        assertTrue(results.stream().allMatch(result -> parent.equals(result.getCode())));
+        assertEquals(3, results.get(0).getChildCodes().size());
+        assertEquals(statementsPerLoad, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should load the children of a task once for 1,000 parallel reads")
+    void getChildTasks_ParallelReads_LoadOnce() throws Exception {
+        long statementsPerLoad = statementsOfOneRead(() -> taskService.getChildTasks(parent));
+
+        List<List<TaskResponseDTO>> results = readInParallel(() -> taskService.getChildTasks(parent));
+
+        assertTrue(results.stream().allMatch(children -> children.size() == 3));
+        assertEquals(statementsPerLoad, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Statements of a single read with cold caches, which leaves the caches cold again
+     */
+    private long statementsOfOneRead(Runnable read) {
+        clearCaches();
+        statistics.clear();
+        read.run();
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements > 0);
+
+        clearCaches();
+        statistics.clear();
+        return statements;
+    }
+
+    private void clearCaches() {
+        taskCache.clear();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    /**
+     * Starts the reads while every pooled connection is held, and releases the
+     * pool once all but the first read wait for the first one.
+     */
+    private <T> List<T> readInParallel(Supplier<T> read) throws Exception {
+        long coalescedBefore = readCoalescer.getCoalescedCount();
+        List<Connection> held = holdAllConnections();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<T>> futures = new ArrayList<>();
+            try {
+                for (int i = 0; i < PARALLEL_READS; i++) {
+                    futures.add(executor.submit(read::get));
+                }
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (readCoalescer.getCoalescedCount() - coalescedBefore < PARALLEL_READS - 1) {
+                    assertTrue(System.nanoTime() < deadline, "Reads did not wait for the first one");
+                    Thread.sleep(1);
+                }
+            } finally {
+                for (Connection connection : held) {
+                    connection.close();
+                }
+            }
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(PARALLEL_READS - 1, readCoalescer.getCoalescedCount() - coalescedBefore);
+            return results;
+        }
+    }
+
+    private List<Connection> holdAllConnections() throws SQLException {
+        int poolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        List<Connection> held = new ArrayList<>();
+        for (int i = 0; i < poolSize; i++) {
+            held.add(dataSource.getConnection());
+        }
+        return held;
+    }
+}
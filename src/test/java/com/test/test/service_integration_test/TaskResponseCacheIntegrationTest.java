@@ -0,0 +1,181 @@
+package com.test.test.service_integration_test;
+
+import com.test.test.dto.TaskBulkUpdateDTO;
+import com.test.test.dto.TaskResponseDTO;
+import com.test.test.entity.TaskStatus;
+import com.test.test.exeception.ResourceNotFoundException;
+import com.test.test.repository.TaskRepository;
+import com.test.test.service.TaskResponseCache;
+import com.test.test.service.TaskService;
+import com.test.test.support.QueryStatisticsTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static com.test.test.support.TaskFixtures.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reads tasks through the task cache while committed writes change them.
+ */
+@QueryStatisticsTest
+@DisplayName("TaskResponseCache Integration Tests")
+class TaskResponseCacheIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskResponseCache taskResponseCache;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        taskResponseCache.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAll();
+        taskResponseCache.clear();
+    }
+
+    private TaskResponseDTO create(String title, String parentCode) {
+        return taskService.createTask(request(title, parentCode));
+    }
+
+    @Test
+    @DisplayName("Should answer a repeated read without any SQL")
+    void getTaskByCode_RepeatedRead_IssuesNoStatements() {
+        String code = create("Root", null).getCode();
+        taskService.getTaskByCode(code);
+
+        statistics.clear();
+        TaskResponseDTO cached = taskService.getTaskByCode(code);
+
+        assertEquals(code, cached.getCode());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should show new children and updates of cached tasks")
+    void writes_EvictChangedTasks() {
+        String root = create("Root", null).getCode();
+        assertTrue(taskService.getTaskByCode(root).getChildCodes().isEmpty());
+
+        String child = create("Child", root).getCode();
+        assertEquals(List.of(child), taskService.getTaskByCode(root).getChildCodes());
+
+        assertEquals("Child", taskService.getTaskByCode(child).getTitle());
+        taskService.updateTask(child, request("Renamed", root));
+        assertEquals("Renamed", taskService.getTaskByCode(child).getTitle());
+
+        taskService.updateTasks(TaskBulkUpdateDTO.builder().parentCode(root).status(TaskStatus.IN_PROGRESS).build());
+        assertEquals(TaskStatus.IN_PROGRESS, taskService.getTaskByCode(child).getStatus());
+
+        taskService.deleteTask(child);
+        assertTrue(taskService.getTaskByCode(root).getChildCodes().isEmpty());
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskByCode(child));
+    }
+
+    @Test
+    @DisplayName("Should show new levels of cached descendants after a subtree moves")
+    void updateTask_MoveSubtree_EvictsDescendants() {
+        String oldRoot = create("Old root", null).getCode();
+        String newRoot = create("New root", null).getCode();
+        String newParent = create("New parent", newRoot).getCode();
+        String moved = create("Moved", oldRoot).getCode();
+        String grandchild = create("Grandchild", moved).getCode();
+        assertEquals(3, taskService.getTaskByCode(grandchild).getHierarchyLevel());
+        assertEquals(List.of(moved), taskService.getTaskByCode(oldRoot).getChildCodes());
+
+        taskService.updateTask(moved, request("Moved", newParent));
+
+        assertEquals(4, taskService.getTaskByCode(grandchild).getHierarchyLevel());
+        assertEquals(3, taskService.getTaskByCode(moved).getHierarchyLevel());
+        assertTrue(taskService.getTaskByCode(oldRoot).getChildCodes().isEmpty());
+        assertEquals(List.of(moved), taskService.getTaskByCode(newParent).getChildCodes());
+    }
+
+    @Test
+    @DisplayName("Should forget a deleted subtree")
+    void deleteSubtree_EvictsEveryCachedDescendant() {
+        String root = create("Root", null).getCode();
+        String child = create("Child", root).getCode();
+        String grandchild = create("Grandchild", child).getCode();
+        taskService.getTaskByCode(root);
+        taskService.getTaskByCode(grandchild);
+
+        taskService.deleteSubtree(child);
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskByCode(child));
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskByCode(grandchild));
+        assertTrue(taskService.getTaskByCode(root).getChildCodes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should forget cached descendants of a deleted subtree below an uncached task")
+    void deleteSubtree_UncachedIntermediate_EvictsDescendants() {
+        String root = create("Root", null).getCode();
+        String child = create("Child", root).getCode();
+        String grandchild = create("Grandchild", child).getCode();
+        taskService.getTaskByCode(root);
+        taskService.getTaskByCode(grandchild);
+
+        taskService.deleteSubtree(root);
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskByCode(grandchild));
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskByCode(child));
+    }
+
+    @Test
+    @DisplayName("Should show new levels and versions of cached descendants below an uncached moved task")
+    void updateTask_MoveSubtreeWithUncachedChild_EvictsDescendants() {
+        String oldRoot = create("Old root", null).getCode();
+        String newRoot = create("New root", null).getCode();
+        String moved = create("Moved", oldRoot).getCode();
+        String child = create("Child", moved).getCode();
+        String grandchild = create("Grandchild", child).getCode();
+        TaskResponseDTO before = taskService.getTaskByCode(grandchild);
+        assertEquals(4, before.getHierarchyLevel());
+
+        taskService.updateTask(moved, request("Moved", newRoot));
+
+        TaskResponseDTO after = taskService.getTaskByCode(grandchild);
+        assertEquals(4, after.getHierarchyLevel());
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertEquals(after.getVersion(), taskService.getTaskVersion(grandchild));
+    }
+
+    @Test
+    @DisplayName("Should report hits and misses")
+    void stats_CountHitsAndMisses() {
+        String code = create("Root", null).getCode();
+        long hits = taskResponseCache.stats().getHits();
+        long misses = taskResponseCache.stats().getMisses();
+
+        taskService.getTaskByCode(code);
+        taskService.getTaskByCode(code);
+        taskService.getTaskByCode(code);
+
+        assertEquals(hits + 2, taskResponseCache.stats().getHits());
+        assertEquals(misses + 1, taskResponseCache.stats().getMisses());
+        assertEquals(1, taskResponseCache.stats().getSize());
+    }
+}
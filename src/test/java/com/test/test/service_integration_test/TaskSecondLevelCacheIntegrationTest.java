@@ -0,0 +1,115 @@
+package com.test.test.service_integration_test;
+
+import com.test.test.dto.TaskView;
+import com.test.test.entity.Task;
+import com.test.test.repository.TaskRepository;
+import com.test.test.service.TaskService;
+import com.test.test.support.QueryStatisticsTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static com.test.test.support.TaskFixtures.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Repeats reads in separate transactions, as separate requests would, and
+ * counts the SQL statements that reach the database.
+ */
+@QueryStatisticsTest
+@DisplayName("Task second-level cache Integration Tests")
+class TaskSecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Statistics statistics;
+    private String root;
+    private String child;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        root = taskService.createTask(request("Root", null)).getCode();
+        child = taskService.createTask(request("Child", root)).getCode();
+        taskService.createTask(request("Other root", null));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should find a task by code with its children without SQL the second time")
+    void findByCode_RepeatedRead_IssuesNoStatements() {
+        transaction.executeWithoutResult(status -> taskRepository.findByCode(root).orElseThrow());
+
+        statistics.clear();
+        List<String> childCodes = transaction.execute(status -> taskRepository.findByCode(root).orElseThrow()
+                .getChildren().stream().map(Task::getCode).toList());
+
+        assertEquals(List.of(child), childCodes);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("Should list root tasks without SQL the second time")
+    void findRootTasks_RepeatedRead_IssuesNoStatements() {
+        transaction.executeWithoutResult(status -> taskRepository.findRootTasks());
+        transaction.executeWithoutResult(status -> taskRepository.findRootViews());
+
+        statistics.clear();
+        List<Task> roots = transaction.execute(status -> taskRepository.findRootTasks());
+        List<TaskView> views = transaction.execute(status -> taskRepository.findRootViews());
+
+        assertEquals(2, roots.size());
+        assertEquals(2, views.size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("Should read the database again after a write to the tasks table")
+    void findRootTasks_AfterWrite_ReadsCommittedRows() {
+        transaction.executeWithoutResult(status -> taskRepository.findRootTasks());
+        transaction.executeWithoutResult(status -> taskRepository.findByCode(root).orElseThrow());
+
+        String newRoot = taskService.createTask(request("New root", null)).getCode();
+        String newChild = taskService.createTask(request("New child", root)).getCode();
+
+        List<String> rootCodes = transaction.execute(status -> taskRepository.findRootTasks().stream()
+                .map(Task::getCode).toList());
+        List<String> childCodes = transaction.execute(status -> taskRepository.findByCode(root).orElseThrow()
+                .getChildren().stream().map(Task::getCode).toList());
+
+        assertEquals(3, rootCodes.size());
+        assertTrue(rootCodes.contains(newRoot));
+        assertEquals(2, childCodes.size());
+        assertTrue(childCodes.contains(newChild));
+    }
+}
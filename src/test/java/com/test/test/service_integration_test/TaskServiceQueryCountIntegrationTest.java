@@ -0,0 +1,288 @@
+package com.test.test.service_integration_test;
+
+import com.test.test.dto.TaskPatchDTO;
+import com.test.test.dto.TaskResponseDTO;
+import com.test.test.entity.Task;
+import com.test.test.entity.TaskStatus;
+import com.test.test.exeception.ResourceNotFoundException;
+import com.test.test.repository.TaskRepository;
+import com.test.test.service.RootTaskIndex;
+import com.test.test.service.TaskService;
+import com.test.test.support.QueryStatisticsTest;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.test.test.support.TaskFixtures.request;
+import static com.test.test.support.TaskFixtures.task;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts how many SQL statements the service issues, using Hibernate statistics.
+ */
+@QueryStatisticsTest
+@Transactional
+@DisplayName("TaskService SQL statement count Integration Tests")
+class TaskServiceQueryCountIntegrationTest {
+
+    private static final int ROOT_TASKS = 50;
+    private static final int CHILDREN_PER_ROOT = 2;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RootTaskIndex rootTaskIndex;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        for (int i = 0; i < ROOT_TASKS; i++) {
+            Task root = taskRepository.save(task(String.format("RT-%02d-root", i), null));
+            for (int c = 0; c < CHILDREN_PER_ROOT; c++) {
+                taskRepository.save(task(String.format("CH-%02d-ch%02d", c, i), root));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        // Unloaded, so that writes do not read roots for it and reads load the seeded tasks
+        rootTaskIndex.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // The seeded tasks are rolled back
+        rootTaskIndex.clear();
+    }
+
+    @Test
+    @DisplayName("Should page through tasks with a bounded number of statements and rows")
+    void getAllTasks_LoadsOnlyTheRequestedPage() {
+        // When
+        Page<TaskResponseDTO> page = taskService.getAllTasks(PageRequest.of(3, 10, Sort.by("code").ascending()));
+
+        // Then
+        assertEquals(10, page.getContent().size());
+        assertEquals(ROOT_TASKS * (1 + CHILDREN_PER_ROOT), page.getTotalElements());
+        assertTrue(page.getContent().stream().noneMatch(dto -> dto == null));
+
+        // Page, count, child codes of the page
+        assertEquals(3, statistics.getPrepareStatementCount());
+        // Rows are projected straight into DTOs; no managed entity is hydrated
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Should keep the requested sort order across both phases")
+    void getAllTasks_PreservesSortOrder() {
+        Page<TaskResponseDTO> page = taskService.getAllTasks(PageRequest.of(0, 5, Sort.by("code").descending()));
+
+        assertEquals("RT-49-root", page.getContent().get(0).getCode());
+        assertEquals("RT-45-root", page.getContent().get(4).getCode());
+        assertEquals(CHILDREN_PER_ROOT, page.getContent().get(0).getChildCodes().size());
+    }
+
+    @Test
+    @DisplayName("Should convert all root tasks with a constant number of statements")
+    void getRootTasks_ResolvesChildCodesInOneQuery() {
+        // When
+        List<TaskResponseDTO> roots = taskService.getRootTasks();
+
+        // Then
+        assertEquals(ROOT_TASKS, roots.size());
+        assertTrue(roots.stream().allMatch(dto -> dto.getChildCodes().size() == CHILDREN_PER_ROOT));
+        assertTrue(roots.stream().allMatch(dto -> dto.getHierarchyLevel() == 1));
+        // Roots, child codes of all roots
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Should serve root tasks from the index once it is loaded")
+    void getRootTasks_IndexLoaded_IssuesNoStatements() {
+        taskService.getRootTasks();
+        statistics.clear();
+
+        List<TaskResponseDTO> roots = taskService.getRootTasks();
+        Page<TaskResponseDTO> page = taskService.getRootTasks(PageRequest.of(1, 20));
+
+        assertEquals(ROOT_TASKS, roots.size());
+        assertEquals(20, page.getNumberOfElements());
+        assertEquals(ROOT_TASKS, page.getTotalElements());
+        assertEquals("RT-20-root", page.getContent().get(0).getCode());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should convert child tasks with a constant number of statements")
+    void getChildTasks_ResolvesLevelsAndParentsWithoutExtraQueries() {
+        // When
+        List<TaskResponseDTO> children = taskService.getChildTasks("RT-07-root");
+
+        // Then
+        assertEquals(CHILDREN_PER_ROOT, children.size());
+        assertTrue(children.stream().allMatch(dto -> "RT-07-root".equals(dto.getParentCode())));
+        assertTrue(children.stream().allMatch(dto -> dto.getHierarchyLevel() == 2));
+        // Parent check, children, child codes of the children
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should answer an unknown code without any statement")
+    void getTaskByCode_UnknownCode_IssuesNoStatements() {
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskByCode("ZZ-99-none"));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should read the version of a task with one statement and no entity")
+    void getTaskVersion_IssuesOneStatement() {
+        assertEquals(0L, taskService.getTaskVersion("RT-07-root"));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Should delete a subtree with a constant number of statements")
+    void deleteSubtree_DoesNotLoadDescendants() {
+        // When
+        taskService.deleteSubtree("RT-07-root");
+
+        // Then: path lookup, codes to evict, unlink descendants, delete subtree
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals((ROOT_TASKS - 1) * (1 + CHILDREN_PER_ROOT), taskRepository.count());
+        assertTrue(taskRepository.findByParentCode("RT-07-root").isEmpty());
+    }
+
+    /**
+     * Statements of a write once flushed, as the commit would, leaving out the
+     * sequence calls that allocate ids 50 at a time
+     */
+    private long writeStatements() {
+        entityManager.flush();
+        return statistics.getQueryExecutionCount() + statistics.getEntityInsertCount()
+                + statistics.getEntityUpdateCount() + statistics.getEntityFetchCount()
+                + statistics.getCollectionFetchCount();
+    }
+
+    @Test
+    @DisplayName("Should create a root task with its insert alone")
+    void createTask_Root_IssuesOnlyTheInsert() {
+        TaskResponseDTO created = taskService.createTask(request("New root", null));
+
+        assertNotNull(created.getId());
+        assertNotNull(created.getUpdatedAt());
+        assertEquals(1, created.getHierarchyLevel());
+        // Insert
+        assertEquals(1, writeStatements());
+        assertEquals(1, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    @DisplayName("Should create a child task without loading its parent")
+    void createTask_WithParent_ReadsOnlyTheParentDepth() {
+        TaskResponseDTO created = taskService.createTask(request("New child", "CH-00-ch07"));
+
+        assertEquals("CH-00-ch07", created.getParentCode());
+        assertEquals(3, created.getHierarchyLevel());
+        // Parent id and position, insert
+        assertEquals(2, writeStatements());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(List.of("RT-07-root", "CH-00-ch07"),
+                taskRepository.findByCode(created.getCode()).orElseThrow().getAncestorCodes());
+    }
+
+    @Test
+    @DisplayName("Should create a child of an indexed root without reading the root")
+    void createTask_ChildOfIndexedRoot_ReadsOnlyTheParentDepth() {
+        taskService.getRootTasks();
+        assertTrue(rootTaskIndex.isLoaded());
+        statistics.clear();
+
+        TaskResponseDTO created = taskService.createTask(request("New child", "RT-07-root"));
+
+        assertEquals("RT-07-root", created.getParentCode());
+        // Parent id and position, insert
+        assertEquals(2, writeStatements());
+    }
+
+    @Test
+    @DisplayName("Should patch a child of an indexed root without reading the root")
+    void patchTask_ChildOfIndexedRoot_IssuesLoadAndUpdate() {
+        taskService.getRootTasks();
+        statistics.clear();
+        TaskPatchDTO patch = TaskPatchDTO.builder().status(Optional.of(TaskStatus.IN_PROGRESS)).build();
+
+        taskService.patchTask("CH-01-ch07", patch, null);
+
+        // Task with its children, update
+        assertEquals(2, writeStatements());
+    }
+
+    @Test
+    @DisplayName("Should update a task without reloading it for the response")
+    void updateTask_Fields_IssuesLoadAndUpdate() {
+        TaskResponseDTO updated = taskService.updateTask("RT-07-root", request("Renamed", null));
+
+        assertEquals("Renamed", updated.getTitle());
+        assertEquals(CHILDREN_PER_ROOT, updated.getChildCodes().size());
+        // Task with its children, update
+        assertEquals(2, writeStatements());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        entityManager.clear();
+        assertEquals(updated.getUpdatedAt(), taskRepository.findByCode("RT-07-root").orElseThrow().getUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("Should not write a task that an update leaves unchanged")
+    void updateTask_Unchanged_IssuesNoUpdate() {
+        TaskResponseDTO updated = taskService.updateTask("CH-01-ch07", request("Task CH-01-ch07", "RT-07-root"));
+
+        assertEquals("RT-07-root", updated.getParentCode());
+        // Task with its children only
+        assertEquals(1, writeStatements());
+        assertEquals(0, statistics.getEntityUpdateCount());
+    }
+
+    @Test
+    @DisplayName("Should patch a child task without looking up its parent")
+    void patchTask_Status_IssuesLoadAndUpdate() {
+        TaskPatchDTO patch = TaskPatchDTO.builder().status(Optional.of(TaskStatus.IN_PROGRESS)).build();
+
+        TaskResponseDTO patched = taskService.patchTask("CH-01-ch07", patch, 0L);
+
+        assertEquals(TaskStatus.IN_PROGRESS, patched.getStatus());
+        assertEquals("RT-07-root", patched.getParentCode());
+        // Task with its children, update
+        assertEquals(2, writeStatements());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        entityManager.clear();
+        Task stored = taskRepository.findByCode("CH-01-ch07").orElseThrow();
+        assertEquals(patched.getVersion(), stored.getVersion());
+        assertEquals("Task CH-01-ch07", stored.getTitle());
+    }
+}
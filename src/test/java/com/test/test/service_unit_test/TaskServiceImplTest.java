@@ -1,34 +1,59 @@
 package com.test.test.service_unit_test;
 
+import com.test.test.dto.TaskBulkItemDTO;
+import com.test.test.dto.TaskBulkRequestDTO;
+import com.test.test.dto.TaskBulkResponseDTO;
+import com.test.test.dto.TaskChildCode;
+import com.test.test.dto.TaskParent;
+import com.test.test.dto.TaskPatchDTO;
 import com.test.test.dto.TaskRequestDTO;
 import com.test.test.dto.TaskResponseDTO;
+import com.test.test.dto.TaskView;
 import com.test.test.dto.UniqueCodeGenerator;
 import com.test.test.entity.Task;
 import com.test.test.entity.TaskStatus;
+import com.test.test.exeception.PreconditionFailedException;
 import com.test.test.exeception.ResourceNotFoundException;
 import com.test.test.exeception.ValidationException;
 import com.test.test.repository.TaskRepository;
+import com.test.test.service.ReadCoalescer;
+import com.test.test.service.RootTaskIndex;
+import com.test.test.service.TaskCodeFilter;
+import com.test.test.service.TaskResponseCache;
 import com.test.test.service.TaskServiceImpl;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -42,6 +67,21 @@ class TaskServiceImplTest {
     @Mock
     private UniqueCodeGenerator codeGenerator;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private TaskResponseCache taskCache = new TaskResponseCache(100, Duration.ofMinutes(10));
+
+    @Spy
+    private RootTaskIndex rootTaskIndex = new RootTaskIndex();
+
+    @Spy
+    private TaskCodeFilter taskCodeFilter = new TaskCodeFilter(null, 1000, 0.01);
+
+    @Spy
+    private ReadCoalescer readCoalescer = new ReadCoalescer();
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -107,6 +147,23 @@ class TaskServiceImplTest {
         verify(codeGenerator).registerCode(testCode);
         verify(taskRepository).save(any(Task.class));
         verify(taskRepository, never()).findByCode(anyString());
+        verify(taskRepository, never()).flush();
+    }
+
+    @Test
+    @DisplayName("Should create task under a code issued beforehand")
+    void createTask_WithIssuedCode_UsesCode() {
+        // Given
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        TaskResponseDTO result = taskService.createTask(testCode, taskRequestDTO);
+
+        // Then
+        assertEquals(testCode, result.getCode());
+        assertEquals("Test Task", result.getTitle());
+        verify(codeGenerator, never()).generateCode();
+        verify(codeGenerator).registerCode(testCode);
     }
 
     @Test
@@ -114,19 +171,12 @@ class TaskServiceImplTest {
     void createTask_WithValidParent_Success() {
         // Given
         String parentCode = "CD-34-abcd";
-        Task parent = Task.builder()
-                .id(2L)
-                .code(parentCode)
-                .title("Parent Task")
-                .status(TaskStatus.PENDING)
-                .build();
-
         taskRequestDTO.setParentCode(parentCode);
-        task.setParent(parent);
 
         when(codeGenerator.generateCode()).thenReturn(testCode);
-        when(taskRepository.findByCode(parentCode)).thenReturn(Optional.of(parent));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        when(taskRepository.findParentByCode(parentCode))
+                .thenReturn(Optional.of(new TaskParent(2L, parentCode, "/", 0)));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
         TaskResponseDTO result = taskService.createTask(taskRequestDTO);
@@ -135,11 +185,17 @@ class TaskServiceImplTest {
         assertNotNull(result);
         assertEquals(testCode, result.getCode());
         assertEquals(parentCode, result.getParentCode());
+        assertEquals(2, result.getHierarchyLevel());
 
-        verify(taskRepository).findByCode(parentCode);
+        ArgumentCaptor<Task> saved = ArgumentCaptor.forClass(Task.class);
+        verify(taskRepository).save(saved.capture());
+        assertEquals("/" + parentCode + "/", saved.getValue().getPath());
+        verify(taskRepository).findParentByCode(parentCode);
+        verify(taskRepository).getReferenceById(2L);
+        verify(taskRepository, never()).findByCode(anyString());
+        verify(taskRepository, never()).flush();
         verify(codeGenerator).generateCode();
         verify(codeGenerator).registerCode(testCode);
-        verify(taskRepository).save(any(Task.class));
     }
 
     @Test
@@ -150,7 +206,7 @@ class TaskServiceImplTest {
         taskRequestDTO.setParentCode(parentCode);
 
         when(codeGenerator.generateCode()).thenReturn(testCode);
-        when(taskRepository.findByCode(parentCode)).thenReturn(Optional.empty());
+        when(taskRepository.findParentByCode(parentCode)).thenReturn(Optional.empty());
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(
@@ -159,7 +215,7 @@ class TaskServiceImplTest {
         );
 
         assertEquals("Parent task not found with code: " + parentCode, exception.getMessage());
-        verify(taskRepository).findByCode(parentCode);
+        verify(taskRepository).findParentByCode(parentCode);
         verify(taskRepository, never()).save(any(Task.class));
     }
 
@@ -168,27 +224,12 @@ class TaskServiceImplTest {
     void createTask_MaxHierarchyLevelReached_ThrowsException() {
         // Given
         String parentCode = "CD-34-abcd";
-        Task parent = Task.builder()
-                .id(2L)
-                .code(parentCode)
-                .title("Parent Task")
-                .status(TaskStatus.PENDING)
-                .build();
-        // Create a chain of parents to reach max level
-        Task level5Parent = parent;
-        for (int i = 0; i < 4; i++) {
-            Task tempParent = Task.builder()
-                    .code("LVL-" + i)
-                    .parent(level5Parent)
-                    .build();
-            level5Parent = tempParent;
-        }
-        parent = level5Parent;
-
+        // The parent sits at the maximum level, below four ancestors
         taskRequestDTO.setParentCode(parentCode);
 
         when(codeGenerator.generateCode()).thenReturn(testCode);
-        when(taskRepository.findByCode(parentCode)).thenReturn(Optional.of(parent));
+        when(taskRepository.findParentByCode(parentCode))
+                .thenReturn(Optional.of(new TaskParent(2L, parentCode, "/L0/L1/L2/L3/", 4)));
 
         // When & Then
         ValidationException exception = assertThrows(
@@ -197,17 +238,115 @@ class TaskServiceImplTest {
         );
 
         assertTrue(exception.getMessage().contains("Maximum hierarchy level"));
-        verify(taskRepository).findByCode(parentCode);
+        verify(taskRepository).findParentByCode(parentCode);
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    // ========== createTasks (bulk) Tests ==========
+
+    @Test
+    @DisplayName("Should bulk create tasks with parents referenced inside the batch")
+    void createTasks_ParentRefs_WritesParentsFirst() {
+        // Given: the child comes before its parent in the request
+        TaskBulkRequestDTO request = TaskBulkRequestDTO.builder()
+                .tasks(List.of(bulkItem("child", "root"), bulkItem("root", null)))
+                .build();
+        when(codeGenerator.generateCodes(2)).thenReturn(List.of("CH-01-aaaa", "RT-01-bbbb"));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        TaskBulkResponseDTO result = taskService.createTasks(request);
+
+        // Then
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of("CH-01-aaaa", "RT-01-bbbb"), result.getCodes());
+
+        ArgumentCaptor<Task> saved = ArgumentCaptor.forClass(Task.class);
+        verify(taskRepository, times(2)).save(saved.capture());
+        Task root = saved.getAllValues().get(0);
+        Task child = saved.getAllValues().get(1);
+        assertEquals("RT-01-bbbb", root.getCode());
+        assertEquals("RT-01-bbbb", child.getParentCode());
+        assertEquals(2, child.getHierarchyLevel());
+        assertEquals("/RT-01-bbbb/", child.getPath());
+        verify(entityManager).flush();
+        verify(taskRepository, never()).findByCodeIn(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a bulk request whose refs form a cycle")
+    void createTasks_CircularRefs_ThrowsException() {
+        TaskBulkRequestDTO request = TaskBulkRequestDTO.builder()
+                .tasks(List.of(bulkItem("a", "b"), bulkItem("b", "a")))
+                .build();
+
+        ValidationException exception = assertThrows(
+                ValidationException.class,
+                () -> taskService.createTasks(request)
+        );
+
+        assertTrue(exception.getMessage().contains("Circular parentRef"));
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a bulk request nesting tasks deeper than the maximum level")
+    void createTasks_TooDeep_ThrowsException() {
+        // Given: six levels, the first one under nothing
+        List<TaskBulkItemDTO> chain = new ArrayList<>();
+        chain.add(bulkItem("L1", null));
+        for (int level = 2; level <= 6; level++) {
+            chain.add(bulkItem("L" + level, "L" + (level - 1)));
+        }
+        TaskBulkRequestDTO request = TaskBulkRequestDTO.builder().tasks(chain).build();
+
+        // When & Then
+        ValidationException exception = assertThrows(
+                ValidationException.class,
+                () -> taskService.createTasks(request)
+        );
+
+        assertTrue(exception.getMessage().contains("Maximum hierarchy level"));
+        verify(codeGenerator, never()).generateCodes(anyInt());
         verify(taskRepository, never()).save(any(Task.class));
     }
 
+    @Test
+    @DisplayName("Should reject a bulk request naming a parent that does not exist")
+    void createTasks_UnknownParentCode_ThrowsException() {
+        TaskBulkItemDTO item = bulkItem("a", null);
+        item.getTask().setParentCode("CD-34-abcd");
+        TaskBulkRequestDTO request = TaskBulkRequestDTO.builder().tasks(List.of(item)).build();
+        when(taskRepository.findByCodeIn(Set.of("CD-34-abcd"))).thenReturn(Collections.emptyList());
+
+        ResourceNotFoundException exception = assertThrows(
+                ResourceNotFoundException.class,
+                () -> taskService.createTasks(request)
+        );
+
+        assertEquals("Parent task not found with code: CD-34-abcd", exception.getMessage());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    private TaskBulkItemDTO bulkItem(String ref, String parentRef) {
+        return TaskBulkItemDTO.builder()
+                .ref(ref)
+                .parentRef(parentRef)
+                .task(TaskRequestDTO.builder()
+                        .title("Task " + ref)
+                        .status(TaskStatus.PENDING)
+                        .creatorId(1L)
+                        .build())
+                .build();
+    }
+
     // ========== getTaskByCode Tests ==========
 
     @Test
     @DisplayName("Should get task by code successfully")
     void getTaskByCode_ValidCode_Success() {
         // Given
-        when(taskRepository.findByCode(testCode)).thenReturn(Optional.of(task));
+        when(taskRepository.findViewByCode(testCode)).thenReturn(Optional.of(viewOf(task)));
 
         // When
         TaskResponseDTO result = taskService.getTaskByCode(testCode);
@@ -216,14 +355,15 @@ class TaskServiceImplTest {
         assertNotNull(result);
         assertEquals(testCode, result.getCode());
         assertEquals("Test Task", result.getTitle());
-        verify(taskRepository).findByCode(testCode);
+        verify(taskRepository).findViewByCode(testCode);
+        verify(taskRepository, never()).findByCode(anyString());
     }
 
     @Test
     @DisplayName("Should throw ResourceNotFoundException when task not found")
     void getTaskByCode_TaskNotFound_ThrowsException() {
         // Given
-        when(taskRepository.findByCode(testCode)).thenReturn(Optional.empty());
+        when(taskRepository.findViewByCode(testCode)).thenReturn(Optional.empty());
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(
@@ -232,7 +372,211 @@ class TaskServiceImplTest {
         );
 
         assertEquals("Task not found with code: " + testCode, exception.getMessage());
-        verify(taskRepository).findByCode(testCode);
+        verify(taskRepository).findViewByCode(testCode);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads from the cache")
+    void getTaskByCode_RepeatedRead_LoadsOnce() {
+        // Given
+        when(taskRepository.findViewByCode(testCode)).thenReturn(Optional.of(viewOf(task)));
+
+        // When
+        TaskResponseDTO first = taskService.getTaskByCode(testCode);
+        TaskResponseDTO second = taskService.getTaskByCode(testCode);
+
+        // Then
+        assertSame(first, second);
+        verify(taskRepository, times(1)).findViewByCode(testCode);
+        assertEquals(1, taskCache.stats().getHits());
+        assertEquals(1, taskCache.stats().getMisses());
+    }
+
+    @Test
+    @DisplayName("Should reject a code unknown to the code filter without any lookup")
+    void getTaskByCode_UnknownCode_RejectedByFilter() {
+        // Given
+        taskCodeFilter.load(Stream.of(testCode));
+
+        // When
+        ResourceNotFoundException exception = assertThrows(
+                ResourceNotFoundException.class,
+                () -> taskService.getTaskByCode("ZZ-99-none")
+        );
+
+        // Then
+        assertEquals("Task not found with code: ZZ-99-none", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(1, taskCodeFilter.getRejectedCount());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("Should look up a code known to the code filter")
+    void getTaskByCode_KnownCode_PassesFilter() {
+        // Given
+        taskCodeFilter.load(Stream.of(testCode));
+        when(taskRepository.findViewByCode(testCode)).thenReturn(Optional.of(viewOf(task)));
+
+        // When
+        TaskResponseDTO result = taskService.getTaskByCode(testCode);
+
+        // Then
+        assertEquals(testCode, result.getCode());
+        assertEquals(0, taskCodeFilter.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("Should look up every code when other nodes may store tasks")
+    void getTaskByCode_LeasedBlocks_FilterDisabled() {
+        // Given
+        TaskCodeFilter clusterFilter = new TaskCodeFilter(null, 1000, 0.01, true,
+                UniqueCodeGenerator.Strategy.LEASED_BLOCKS);
+
+        // When
+        clusterFilter.load(Stream.of(testCode));
+
+        // Then
+        assertFalse(clusterFilter.isLoaded());
+        assertTrue(clusterFilter.mightContain("ZZ-99-none"));
+        assertEquals(0, clusterFilter.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("Should look up every code unless the code filter is enabled")
+    void getTaskByCode_FilterNotEnabled_LooksUpEveryCode() {
+        // Given
+        TaskCodeFilter defaultFilter = new TaskCodeFilter(null, 1000, 0.01, false, UniqueCodeGenerator.Strategy.RANDOM);
+
+        // When
+        defaultFilter.load(Stream.of(testCode));
+
+        // Then
+        assertFalse(defaultFilter.isLoaded());
+        assertTrue(defaultFilter.mightContain("ZZ-99-none"));
+    }
+
+    @Test
+    @DisplayName("Should not cache a task that was not found")
+    void getTaskByCode_TaskNotFound_NotCached() {
+        // Given
+        when(taskRepository.findViewByCode(testCode)).thenReturn(Optional.empty());
+
+        // When
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskByCode(testCode));
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskByCode(testCode));
+
+        // Then
+        verify(taskRepository, times(2)).findViewByCode(testCode);
+        assertEquals(0, taskCache.stats().getSize());
+    }
+
+    @Test
+    @DisplayName("Should share one load between concurrent reads of the same code")
+    void getTaskByCode_ConcurrentReads_LoadOnce() throws Exception {
+        // Given
+        int readers = 50;
+        when(taskRepository.findViewByCode(testCode)).thenAnswer(invocation -> {
+            // Hold the load until every other reader waits for it
+            awaitTrue(() -> readCoalescer.getCoalescedCount() == readers - 1);
+            return Optional.of(viewOf(task));
+        });
+
+        // When
+        List<TaskResponseDTO> results = inParallel(readers, () -> taskService.getTaskByCode(testCode));
+
+        // Then
+        assertTrue(results.stream().allMatch(result -> result == results.get(0)));
+        verify(taskRepository, times(1)).findViewByCode(testCode);
+        assertEquals(0, readCoalescer.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("Should hand the failure of a shared load to every waiting reader")
+    void getTaskByCode_ConcurrentReadsOfMissingTask_ShareNotFound() throws Exception {
+        // Given
+        int readers = 20;
+        when(taskRepository.findViewByCode(testCode)).thenAnswer(invocation -> {
+            awaitTrue(() -> readCoalescer.getCoalescedCount() == readers - 1);
+            return Optional.empty();
+        });
+
+        // When
+        List<Object> results = inParallel(readers, () -> {
+            try {
+                return taskService.getTaskByCode(testCode);
+            } catch (ResourceNotFoundException e) {
+                return e;
+            }
+        });
+
+        // Then
+        assertTrue(results.stream().allMatch(ResourceNotFoundException.class::isInstance));
+        verify(taskRepository, times(1)).findViewByCode(testCode);
+        assertEquals(0, taskCache.stats().getSize());
+    }
+
+    private static <T> List<T> inParallel(int callers, Callable<T> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(call));
+            }
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 10 seconds");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    // ========== getTaskVersion Tests ==========
+
+    @Test
+    @DisplayName("Should read the version alone when the task is not cached")
+    void getTaskVersion_NotCached_QueriesVersion() {
+        // Given
+        when(taskRepository.findVersionByCode(testCode)).thenReturn(Optional.of(4L));
+
+        // When & Then
+        assertEquals(4L, taskService.getTaskVersion(testCode));
+        verify(taskRepository, never()).findViewByCode(anyString());
+    }
+
+    @Test
+    @DisplayName("Should read the version from the database even when the task is cached")
+    void getTaskVersion_Cached_QueriesVersion() {
+        // Given
+        task.setVersion(2L);
+        when(taskRepository.findViewByCode(testCode)).thenReturn(Optional.of(viewOf(task)));
+        when(taskRepository.findVersionByCode(testCode)).thenReturn(Optional.of(3L));
+        taskService.getTaskByCode(testCode);
+
+        // When & Then
+        assertEquals(3L, taskService.getTaskVersion(testCode));
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException for the version of a missing task")
+    void getTaskVersion_TaskNotFound_ThrowsException() {
+        // Given
+        when(taskRepository.findVersionByCode(testCode)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskVersion(testCode));
     }
 
     // ========== getAllTasks Tests ==========
@@ -242,10 +586,10 @@ class TaskServiceImplTest {
     void getAllTasks_WithPagination_Success() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        List<Task> tasks = List.of(task);
-        Page<Task> taskPage = new PageImpl<>(tasks, pageable, 1);
+        List<TaskView> tasks = List.of(viewOf(task));
+        Page<TaskView> taskPage = new PageImpl<>(tasks, pageable, 1);
 
-        when(taskRepository.findAll(pageable)).thenReturn(taskPage);
+        when(taskRepository.findAllViews(pageable)).thenReturn(taskPage);
 
         // When
         Page<TaskResponseDTO> result = taskService.getAllTasks(pageable);
@@ -255,7 +599,7 @@ class TaskServiceImplTest {
         assertEquals(1, result.getTotalElements());
         assertEquals(1, result.getContent().size());
         assertEquals(testCode, result.getContent().get(0).getCode());
-        verify(taskRepository).findAll(pageable);
+        verify(taskRepository).findAllViews(pageable);
     }
 
     @Test
@@ -263,9 +607,9 @@ class TaskServiceImplTest {
     void getAllTasks_NoTasks_ReturnsEmptyPage() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Task> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
+        Page<TaskView> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
 
-        when(taskRepository.findAll(pageable)).thenReturn(emptyPage);
+        when(taskRepository.findAllViews(pageable)).thenReturn(emptyPage);
 
         // When
         Page<TaskResponseDTO> result = taskService.getAllTasks(pageable);
@@ -274,7 +618,7 @@ class TaskServiceImplTest {
         assertNotNull(result);
         assertEquals(0, result.getTotalElements());
         assertTrue(result.getContent().isEmpty());
-        verify(taskRepository).findAll(pageable);
+        verify(taskRepository).findAllViews(pageable);
     }
 
     // ========== updateTask Tests ==========
@@ -285,17 +629,11 @@ class TaskServiceImplTest {
     void updateTask_WithNewParent_Success() {
         // Given
         String newParentCode = "EF-56-efgh";
-        Task newParent = Task.builder()
-                .id(3L)
-                .code(newParentCode)
-                .title("New Parent")
-                .status(TaskStatus.PENDING)
-                .build();
-
         taskRequestDTO.setParentCode(newParentCode);
 
         when(taskRepository.findByCode(testCode)).thenReturn(Optional.of(task));
-        when(taskRepository.findByCode(newParentCode)).thenReturn(Optional.of(newParent));
+        when(taskRepository.findParentByCode(newParentCode))
+                .thenReturn(Optional.of(new TaskParent(3L, newParentCode, "/", 0)));
         when(taskRepository.save(any(Task.class))).thenReturn(task);
 
         // When
@@ -303,11 +641,39 @@ class TaskServiceImplTest {
 
         // Then
         assertNotNull(result);
+        assertEquals(newParentCode, result.getParentCode());
+        assertEquals(2, result.getHierarchyLevel());
+        assertEquals(task.getUpdatedAt(), result.getUpdatedAt());
         verify(taskRepository).findByCode(testCode);
-        verify(taskRepository).findByCode(newParentCode);
+        verify(taskRepository).findParentByCode(newParentCode);
+        verify(taskRepository, times(1)).findByCode(anyString());
+        verify(taskRepository, never()).flush();
         verify(taskRepository).save(task);
     }
 
+    @Test
+    @DisplayName("Should not look up the parent again when it does not change")
+    void updateTask_SameParent_SkipsParentLookup() {
+        // Given
+        task.setParent(Task.builder().code("CD-34-abcd").path("/").depth(0).build());
+        LocalDateTime updatedAt = task.getUpdatedAt();
+        taskRequestDTO.setParentCode("CD-34-abcd");
+        taskRequestDTO.setAssignedDate(task.getAssignedDate());
+        taskRequestDTO.setDueDate(task.getDueDate());
+
+        when(taskRepository.findByCode(testCode)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        // When
+        TaskResponseDTO result = taskService.updateTask(testCode, taskRequestDTO);
+
+        // Then
+        assertEquals("CD-34-abcd", result.getParentCode());
+        assertEquals(updatedAt, result.getUpdatedAt());
+        verify(taskRepository, never()).findParentByCode(anyString());
+        verify(taskRepository, never()).findMaxDepthInSubtree(anyString());
+    }
+
     @Test
     @DisplayName("Should remove parent when parentCode is empty")
     void updateTask_RemoveParent_Success() {
@@ -326,6 +692,10 @@ class TaskServiceImplTest {
         verify(taskRepository).findByCode(testCode);
         verify(taskRepository).save(task);
         assertNull(task.getParent());
+        assertEquals("/", task.getPath());
+        // Descendants move up a level along with the task
+        verify(taskRepository).moveSubtree("/OLD-PARENT/" + testCode + "/", "/" + testCode + "/", -1);
+        verify(taskCache).evict(testCode, "OLD-PARENT", null);
     }
 
     @Test
@@ -350,16 +720,12 @@ class TaskServiceImplTest {
     void updateTask_CircularReference_ThrowsException() {
         // Given
         String childCode = "CH-78-child";
-        Task child = Task.builder()
-                .id(4L)
-                .code(childCode)
-                .parent(task)
-                .build();
-        task.setParent(child); // Create circular reference
         taskRequestDTO.setParentCode(childCode);
 
         when(taskRepository.findByCode(testCode)).thenReturn(Optional.of(task));
-        when(taskRepository.findByCode(childCode)).thenReturn(Optional.of(child));
+        // The new parent is a child of the task
+        when(taskRepository.findParentByCode(childCode))
+                .thenReturn(Optional.of(new TaskParent(4L, childCode, "/" + testCode + "/", 1)));
 
         // When & Then
         ValidationException exception = assertThrows(
@@ -369,7 +735,7 @@ class TaskServiceImplTest {
 
         assertEquals("Cannot set parent: Circular reference detected", exception.getMessage());
         verify(taskRepository).findByCode(testCode);
-        verify(taskRepository).findByCode(childCode);
+        verify(taskRepository).findParentByCode(childCode);
         verify(taskRepository, never()).save(any(Task.class));
     }
 
@@ -378,25 +744,11 @@ class TaskServiceImplTest {
     void updateTask_NewParentAtMaxLevel_ThrowsException() {
         // Given
         String newParentCode = "EF-56-efgh";
-        Task newParent = Task.builder()
-                .code(newParentCode)
-                .build();
-        
-        // Create a chain to reach max level
-        Task current = newParent;
-        for (int i = 0; i < 4; i++) {
-            Task tempParent = Task.builder()
-                    .code("MAX-" + i)
-                    .parent(current)
-                    .build();
-            current = tempParent;
-        }
-        newParent = current;
-
         taskRequestDTO.setParentCode(newParentCode);
 
         when(taskRepository.findByCode(testCode)).thenReturn(Optional.of(task));
-        when(taskRepository.findByCode(newParentCode)).thenReturn(Optional.of(newParent));
+        when(taskRepository.findParentByCode(newParentCode))
+                .thenReturn(Optional.of(new TaskParent(3L, newParentCode, "/M0/M1/M2/M3/", 4)));
 
         // When & Then
         ValidationException exception = assertThrows(
@@ -406,11 +758,132 @@ class TaskServiceImplTest {
 
         assertTrue(exception.getMessage().contains("Maximum hierarchy level"));
         verify(taskRepository).findByCode(testCode);
-        verify(taskRepository).findByCode(newParentCode);
+        verify(taskRepository).findParentByCode(newParentCode);
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    @DisplayName("Should report the incremented version once an update is written")
+    void updateTask_FieldsChange_ReturnsNextVersion() {
+        // Given
+        task.setVersion(3L);
+        taskRequestDTO.setTitle("Renamed");
+
+        when(taskRepository.findByCode(testCode)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        // When
+        TaskResponseDTO result = taskService.updateTask(testCode, taskRequestDTO, 3L);
+
+        // Then
+        assertEquals(4L, result.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should throw PreconditionFailedException when the task is not at the expected version")
+    void updateTask_StaleVersion_ThrowsException() {
+        // Given
+        task.setVersion(3L);
+
+        when(taskRepository.findByCode(testCode)).thenReturn(Optional.of(task));
+
+        // When & Then
+        PreconditionFailedException exception = assertThrows(
+                PreconditionFailedException.class,
+                () -> taskService.updateTask(testCode, taskRequestDTO, 2L)
+        );
+
+        assertTrue(exception.getMessage().contains("version 3"));
+        verify(taskRepository, never()).findParentByCode(anyString());
         verify(taskRepository, never()).save(any(Task.class));
     }
 
 
+    // ========== patchTask Tests ==========
+
+    @Test
+    @DisplayName("Should change only the fields present in the patch")
+    void patchTask_StatusOnly_KeepsOtherFields() {
+        // Given
+        task.setParent(Task.builder().code("CD-34-abcd").path("/").depth(0).build());
+        TaskPatchDTO patch = TaskPatchDTO.builder()
+                .status(Optional.of(TaskStatus.IN_PROGRESS))
+                .build();
+
+        when(taskRepository.findByCode(testCode)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        // When
+        TaskResponseDTO result = taskService.patchTask(testCode, patch, null);
+
+        // Then
+        assertEquals(TaskStatus.IN_PROGRESS, result.getStatus());
+        assertEquals("Test Task", result.getTitle());
+        assertEquals("Test Description", result.getDescription());
+        assertEquals("CD-34-abcd", result.getParentCode());
+        assertEquals(2, result.getHierarchyLevel());
+        verify(taskRepository, never()).findParentByCode(anyString());
+        verify(taskRepository, never()).findMaxDepthInSubtree(anyString());
+    }
+
+    @Test
+    @DisplayName("Should clear a field sent as null")
+    void patchTask_NullDescription_ClearsIt() {
+        // Given
+        TaskPatchDTO patch = TaskPatchDTO.builder()
+                .description(Optional.empty())
+                .build();
+
+        when(taskRepository.findByCode(testCode)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        // When
+        TaskResponseDTO result = taskService.patchTask(testCode, patch, null);
+
+        // Then
+        assertNull(result.getDescription());
+        assertEquals("tag1,tag2", result.getTags());
+    }
+
+    @Test
+    @DisplayName("Should not stamp a task whose patch changes nothing")
+    void patchTask_SameValues_NotStamped() {
+        // Given
+        LocalDateTime updatedAt = task.getUpdatedAt();
+        TaskPatchDTO patch = TaskPatchDTO.builder()
+                .title(Optional.of("Test Task"))
+                .priority(Optional.of("HIGH"))
+                .build();
+
+        when(taskRepository.findByCode(testCode)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        // When
+        TaskResponseDTO result = taskService.patchTask(testCode, patch, null);
+
+        // Then
+        assertEquals(updatedAt, result.getUpdatedAt());
+        assertFalse(task.isUpdateStamped());
+    }
+
+    @Test
+    @DisplayName("Should check a new parent named by the patch")
+    void patchTask_NewParentAtMaxLevel_ThrowsException() {
+        // Given
+        String newParentCode = "EF-56-efgh";
+        TaskPatchDTO patch = TaskPatchDTO.builder()
+                .parentCode(Optional.of(newParentCode))
+                .build();
+
+        when(taskRepository.findByCode(testCode)).thenReturn(Optional.of(task));
+        when(taskRepository.findParentByCode(newParentCode))
+                .thenReturn(Optional.of(new TaskParent(3L, newParentCode, "/M0/M1/M2/M3/", 4)));
+
+        // When & Then
+        assertThrows(ValidationException.class, () -> taskService.patchTask(testCode, patch, null));
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
     // ========== deleteTask Tests ==========
 
     @Test
@@ -425,6 +898,24 @@ class TaskServiceImplTest {
         // Then
         verify(taskRepository).findByCode(testCode);
         verify(taskRepository).delete(task);
+        verify(taskCache).evict(testCode, null);
+    }
+
+    @Test
+    @DisplayName("Should read a deleted task from the database again")
+    void deleteTask_CachedTask_EvictsIt() {
+        // Given
+        when(taskRepository.findViewByCode(testCode)).thenReturn(Optional.of(viewOf(task)));
+        when(taskRepository.findByCode(testCode)).thenReturn(Optional.of(task));
+        taskService.getTaskByCode(testCode);
+
+        // When
+        taskService.deleteTask(testCode);
+        when(taskRepository.findViewByCode(testCode)).thenReturn(Optional.empty());
+
+        // Then
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskByCode(testCode));
+        verify(taskRepository, times(2)).findViewByCode(testCode);
     }
 
     @Test
@@ -495,8 +986,9 @@ class TaskServiceImplTest {
 
         List<Task> children = List.of(child1, child2);
 
-        when(taskRepository.findByCode(parentCode)).thenReturn(Optional.of(parent));
-        when(taskRepository.findByParentCode(parentCode)).thenReturn(children);
+        when(taskRepository.existsByCode(parentCode)).thenReturn(true);
+        when(taskRepository.findViewsByParentCode(parentCode))
+                .thenReturn(children.stream().map(this::viewOf).toList());
 
         // When
         List<TaskResponseDTO> result = taskService.getChildTasks(parentCode);
@@ -506,8 +998,8 @@ class TaskServiceImplTest {
         assertEquals(2, result.size());
         assertEquals("CH-01-child1", result.get(0).getCode());
         assertEquals("CH-02-child2", result.get(1).getCode());
-        verify(taskRepository).findByCode(parentCode);
-        verify(taskRepository).findByParentCode(parentCode);
+        verify(taskRepository).existsByCode(parentCode);
+        verify(taskRepository).findViewsByParentCode(parentCode);
     }
 
     @Test
@@ -515,12 +1007,8 @@ class TaskServiceImplTest {
     void getChildTasks_NoChildren_ReturnsEmptyList() {
         // Given
         String parentCode = "PAR-99-parent";
-        Task parent = Task.builder()
-                .code(parentCode)
-                .build();
-
-        when(taskRepository.findByCode(parentCode)).thenReturn(Optional.of(parent));
-        when(taskRepository.findByParentCode(parentCode)).thenReturn(Collections.emptyList());
+        when(taskRepository.existsByCode(parentCode)).thenReturn(true);
+        when(taskRepository.findViewsByParentCode(parentCode)).thenReturn(Collections.emptyList());
 
         // When
         List<TaskResponseDTO> result = taskService.getChildTasks(parentCode);
@@ -528,8 +1016,8 @@ class TaskServiceImplTest {
         // Then
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(taskRepository).findByCode(parentCode);
-        verify(taskRepository).findByParentCode(parentCode);
+        verify(taskRepository).existsByCode(parentCode);
+        verify(taskRepository).findViewsByParentCode(parentCode);
     }
 
     @Test
@@ -537,7 +1025,7 @@ class TaskServiceImplTest {
     void getChildTasks_ParentNotFound_ThrowsException() {
         // Given
         String parentCode = "PAR-99-parent";
-        when(taskRepository.findByCode(parentCode)).thenReturn(Optional.empty());
+        when(taskRepository.existsByCode(parentCode)).thenReturn(false);
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(
@@ -546,8 +1034,8 @@ class TaskServiceImplTest {
         );
 
         assertEquals("Parent task not found with code: " + parentCode, exception.getMessage());
-        verify(taskRepository).findByCode(parentCode);
-        verify(taskRepository, never()).findByParentCode(anyString());
+        verify(taskRepository).existsByCode(parentCode);
+        verify(taskRepository, never()).findViewsByParentCode(anyString());
     }
 
     // ========== getRootTasks Tests ==========
@@ -570,9 +1058,9 @@ class TaskServiceImplTest {
                 .status(TaskStatus.IN_PROGRESS)
                 .build();
 
-        List<Task> rootTasks = List.of(root1, root2);
+        List<TaskView> rootTasks = List.of(viewOf(root1), viewOf(root2));
 
-        when(taskRepository.findRootTasks()).thenReturn(rootTasks);
+        when(taskRepository.findRootViews()).thenReturn(rootTasks);
 
         // When
         List<TaskResponseDTO> result = taskService.getRootTasks();
@@ -582,13 +1070,33 @@ class TaskServiceImplTest {
         assertEquals(2, result.size());
         assertEquals("RT-11-root1", result.get(0).getCode());
         assertEquals("RT-22-root2", result.get(1).getCode());
-        verify(taskRepository).findRootTasks();
+        verify(taskRepository).findRootViews();
+    }
+
+    @Test
+    @DisplayName("Should resolve child codes of all root tasks with one repository call")
+    void getRootTasks_WithChildren_ResolvesChildCodesInBatch() {
+        // Given
+        Task root1 = Task.builder().id(8L).code("RT-11-root1").status(TaskStatus.PENDING).build();
+        Task root2 = Task.builder().id(9L).code("RT-22-root2").status(TaskStatus.PENDING).build();
+
+        when(taskRepository.findRootViews()).thenReturn(List.of(viewOf(root1), viewOf(root2)));
+        when(taskRepository.findChildCodes(List.of("RT-11-root1", "RT-22-root2")))
+                .thenReturn(List.of(new TaskChildCode("RT-22-root2", "CH-33-child3")));
+
+        // When
+        List<TaskResponseDTO> result = taskService.getRootTasks();
+
+        // Then
+        assertTrue(result.get(0).getChildCodes().isEmpty());
+        assertEquals(List.of("CH-33-child3"), result.get(1).getChildCodes());
+        verify(taskRepository, times(1)).findChildCodes(anyCollection());
     }
 
     @Test
     void getRootTasks_NoRoots_ReturnsEmptyList() {
         // Given
-        when(taskRepository.findRootTasks()).thenReturn(Collections.emptyList());
+        when(taskRepository.findRootViews()).thenReturn(Collections.emptyList());
 
         // When
         List<TaskResponseDTO> result = taskService.getRootTasks();
@@ -596,7 +1104,85 @@ class TaskServiceImplTest {
         // Then
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(taskRepository).findRootTasks();
+        verify(taskRepository).findRootViews();
+    }
+
+    @Test
+    @DisplayName("Should read root tasks from the database only once")
+    void getRootTasks_SecondCall_ServedFromIndex() {
+        // Given
+        when(taskRepository.findRootViews()).thenReturn(List.of(viewOf(task)));
+
+        // When
+        taskService.getRootTasks();
+        List<TaskResponseDTO> result = taskService.getRootTasks();
+        Page<TaskResponseDTO> page = taskService.getRootTasks(PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(testCode, page.getContent().get(0).getCode());
+        verify(taskRepository, times(1)).findRootViews();
+    }
+
+    @Test
+    @DisplayName("Should add a created root task to the loaded index")
+    void createTask_RootWithIndexLoaded_AddsToIndex() {
+        // Given
+        rootTaskIndex.load(Collections.emptyList(), rootTaskIndex.changeCount());
+        when(codeGenerator.generateCode()).thenReturn(testCode);
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        // When
+        taskService.createTask(taskRequestDTO);
+
+        // Then
+        assertTrue(rootTaskIndex.contains(testCode));
+        assertEquals(List.of(testCode), taskService.getRootTasks().stream().map(TaskResponseDTO::getCode).toList());
+        verify(taskRepository, never()).findRootViews();
+        verify(taskRepository, never()).findRootViewsByCodeIn(any());
+    }
+
+    @Test
+    @DisplayName("Should add a created child to its parent's entry in the loaded index without reading the parent")
+    void createTask_ChildOfIndexedRoot_AddsChildCodeInMemory() {
+        // Given
+        String parentCode = "CD-34-abcd";
+        TaskResponseDTO indexedParent = TaskResponseDTO.builder().id(2L).code(parentCode).build();
+        rootTaskIndex.load(List.of(indexedParent), rootTaskIndex.changeCount());
+        taskRequestDTO.setParentCode(parentCode);
+
+        when(codeGenerator.generateCode()).thenReturn(testCode);
+        when(taskRepository.findParentByCode(parentCode))
+                .thenReturn(Optional.of(new TaskParent(2L, parentCode, "/", 0)));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        taskService.createTask(taskRequestDTO);
+
+        // Then
+        List<TaskResponseDTO> roots = taskService.getRootTasks();
+        assertEquals(1, roots.size());
+        assertEquals(List.of(testCode), roots.get(0).getChildCodes());
+        assertTrue(indexedParent.getChildCodes().isEmpty());
+        verify(taskRepository, never()).findRootViewsByCodeIn(any());
+        verify(taskRepository, never()).findChildCodes(any());
+    }
+
+    @Test
+    @DisplayName("Should remove a deleted root task from the loaded index")
+    void deleteTask_RootWithIndexLoaded_RemovesFromIndex() {
+        // Given
+        when(taskRepository.findRootViews()).thenReturn(List.of(viewOf(task)));
+        when(taskRepository.findByCode(testCode)).thenReturn(Optional.of(task));
+        taskService.getRootTasks();
+
+        // When
+        taskService.deleteTask(testCode);
+
+        // Then
+        assertFalse(rootTaskIndex.contains(testCode));
+        assertTrue(taskService.getRootTasks().isEmpty());
+        verify(taskRepository).findRootViewsByCodeIn(Set.of(testCode));
     }
 
     // ========== convertToDTO Helper Tests (indirectly tested) ==========
@@ -621,7 +1207,9 @@ class TaskServiceImplTest {
         task.getChildren().add(child1);
         task.getChildren().add(child2);
 
-        when(taskRepository.findByCode(testCode)).thenReturn(Optional.of(task));
+        when(taskRepository.findViewByCode(testCode)).thenReturn(Optional.of(viewOf(task)));
+        when(taskRepository.findChildCodes(List.of(testCode))).thenReturn(List.of(
+                new TaskChildCode(testCode, child1.getCode()), new TaskChildCode(testCode, child2.getCode())));
 
         // When
         TaskResponseDTO result = taskService.getTaskByCode(testCode);
@@ -642,7 +1230,7 @@ class TaskServiceImplTest {
         task.setParent(null);
         task.setChildren(new ArrayList<>());
 
-        when(taskRepository.findByCode(testCode)).thenReturn(Optional.of(task));
+        when(taskRepository.findViewByCode(testCode)).thenReturn(Optional.of(viewOf(task)));
 
         // When
         TaskResponseDTO result = taskService.getTaskByCode(testCode);
@@ -653,4 +1241,11 @@ class TaskServiceImplTest {
         assertNotNull(result.getChildCodes());
         assertTrue(result.getChildCodes().isEmpty());
     }
-}
\ No newline at end of file
+
+    private TaskView viewOf(Task task) {
+        return new TaskView(task.getId(), task.getCode(), task.getTitle(), task.getDescription(), task.getStatus(),
+                task.getAssignedDate(), task.getDueDate(), task.getCreatedId(), task.getAssignedId(),
+                task.getParentCode(), task.getPriority(), task.getTags(), task.getCreateAt(), task.getUpdatedAt(),
+                task.getDepth(), task.getVersion());
+    }
+}
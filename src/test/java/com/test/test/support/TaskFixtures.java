@@ -0,0 +1,43 @@
+package com.test.test.support;
+
+import com.test.test.dto.TaskRequestDTO;
+import com.test.test.entity.Task;
+import com.test.test.entity.TaskStatus;
+
+import java.util.ArrayList;
+
+/**
+ * Requests and entities shared by the integration tests and benchmarks.
+ */
+public final class TaskFixtures {
+
+    private TaskFixtures() {
+    }
+
+    public static TaskRequestDTO request(String title) {
+        return request(title, null);
+    }
+
+    public static TaskRequestDTO request(String title, String parentCode) {
+        return TaskRequestDTO.builder()
+                .title(title)
+                .status(TaskStatus.PENDING)
+                .creatorId(1L)
+                .parentCode(parentCode)
+                .build();
+    }
+
+    /**
+     * Pending task below a saved parent, or a root for a null parent, to be saved directly.
+     */
+    public static Task task(String code, Task parent) {
+        return Task.builder()
+                .code(code)
+                .title("Task " + code)
+                .status(TaskStatus.PENDING)
+                .createdId(1L)
+                .parent(parent)
+                .children(new ArrayList<>())
+                .build();
+    }
+}